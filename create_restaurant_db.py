@@ -70,6 +70,106 @@ TABLES['reviews'] = (
     '''
 )
 
+# One row per food_items insert/update/delete; terminals poll it for menu deltas
+TABLES['menu_changes'] = (
+    '''
+    CREATE TABLE IF NOT EXISTS menu_changes (
+        version BIGINT PRIMARY KEY AUTO_INCREMENT,
+        food_id INT NOT NULL,
+        op CHAR(1) NOT NULL,
+        changed_at DATETIME DEFAULT CURRENT_TIMESTAMP
+    )
+    '''
+)
+
+# Last menu_changes version handed out; MenuChangeLog locks the row so versions commit in order
+TABLES['menu_version'] = (
+    '''
+    CREATE TABLE IF NOT EXISTS menu_version (
+        id TINYINT PRIMARY KEY,
+        version BIGINT NOT NULL
+    )
+    '''
+)
+
+# Next free id per sequence; OrderIdAllocator reserves blocks of order ids from here
+TABLES['id_blocks'] = (
+    '''
+    CREATE TABLE IF NOT EXISTS id_blocks (
+        name VARCHAR(32) PRIMARY KEY,
+        next_id BIGINT NOT NULL
+    )
+    '''
+)
+
+# Applied in order after the tables exist, each committed on its own; a tuple is a group of
+# statements committed together. Steps that were already applied fail with a duplicate
+# column/index/entry error, which is reported and skipped, so re-running is safe. Any other
+# error rolls the step back and stops the run, so later steps never act on a half-applied one.
+MIGRATIONS = [
+    # Keyset pagination of an item's reviews (ReviewPager)
+    "CREATE INDEX idx_reviews_food_id ON reviews (food_id, id)",
+    # Rating aggregates maintained by CustomerReviews.submitReview
+    """ALTER TABLE food_items
+        ADD COLUMN rating_count INT NOT NULL DEFAULT 0,
+        ADD COLUMN rating_sum INT NOT NULL DEFAULT 0,
+        ADD COLUMN rating_1 INT NOT NULL DEFAULT 0,
+        ADD COLUMN rating_2 INT NOT NULL DEFAULT 0,
+        ADD COLUMN rating_3 INT NOT NULL DEFAULT 0,
+        ADD COLUMN rating_4 INT NOT NULL DEFAULT 0,
+        ADD COLUMN rating_5 INT NOT NULL DEFAULT 0""",
+    # Backfill the aggregates from existing reviews (recomputes, so it can be re-run)
+    """UPDATE food_items f
+        LEFT JOIN (SELECT food_id, COUNT(*) AS c, SUM(ROUND(rating)) AS s,
+                          SUM(ROUND(rating) = 1) AS r1, SUM(ROUND(rating) = 2) AS r2,
+                          SUM(ROUND(rating) = 3) AS r3, SUM(ROUND(rating) = 4) AS r4,
+                          SUM(ROUND(rating) = 5) AS r5
+                   FROM reviews GROUP BY food_id) r ON r.food_id = f.id
+        SET f.rating_count = COALESCE(r.c, 0), f.rating_sum = COALESCE(r.s, 0),
+            f.rating_1 = COALESCE(r.r1, 0), f.rating_2 = COALESCE(r.r2, 0),
+            f.rating_3 = COALESCE(r.r3, 0), f.rating_4 = COALESCE(r.r4, 0),
+            f.rating_5 = COALESCE(r.r5, 0),
+            f.avg_rating = IF(COALESCE(r.c, 0) = 0, 0, r.s / r.c)""",
+    # Menu versions continue after the logged changes (fails as a duplicate once seeded)
+    """INSERT INTO menu_version (id, version)
+        SELECT 1, COALESCE(MAX(version), 0) FROM menu_changes""",
+    # Orders arrive through OrderOutbox and may be sent more than once; the key stores them once
+    """ALTER TABLE orders
+        ADD COLUMN idempotency_key CHAR(36) NULL,
+        ADD UNIQUE KEY uq_orders_idempotency_key (idempotency_key)""",
+    # Order ids continue after the existing orders (fails as a duplicate once seeded)
+    """INSERT INTO id_blocks (name, next_id)
+        SELECT 'orders', COALESCE(MAX(id), 0) + 1 FROM orders""",
+    # One order_items row per order line instead of one per unit
+    """ALTER TABLE order_items
+        ADD COLUMN quantity INT NOT NULL DEFAULT 1,
+        ADD COLUMN line_total DECIMAL(10,2) NULL""",
+    # Fold the older per-unit rows in one transaction, so the duplicates are only deleted once
+    # their quantities are on the row that stays
+    (
+        # The lowest id of each group keeps the count and total...
+        """UPDATE order_items oi
+            JOIN (SELECT MIN(id) AS keep_id, SUM(quantity) AS qty
+                  FROM order_items WHERE line_total IS NULL
+                  GROUP BY order_id, food_item_id, item_price) g ON oi.id = g.keep_id
+            SET oi.quantity = g.qty, oi.line_total = g.qty * oi.item_price""",
+        # ...and the rest of the group goes (a no-op once folded, as checkout writes one row per line)
+        """DELETE oi FROM order_items oi
+            JOIN (SELECT order_id, food_item_id, item_price, MIN(id) AS keep_id
+                  FROM order_items GROUP BY order_id, food_item_id, item_price) g
+              ON oi.order_id = g.order_id AND oi.food_item_id = g.food_item_id
+             AND oi.item_price = g.item_price AND oi.id <> g.keep_id""",
+    ),
+    "ALTER TABLE order_items MODIFY line_total DECIMAL(10,2) NOT NULL",
+]
+
+# Errors that mean a migration step was applied by an earlier run
+ALREADY_APPLIED = (
+    errorcode.ER_DUP_FIELDNAME,
+    errorcode.ER_DUP_KEYNAME,
+    errorcode.ER_DUP_ENTRY,
+)
+
 def create_database(cursor):
     try:
         cursor.execute(
@@ -95,6 +195,23 @@ def main():
                 print("OK")
             except mysql.connector.Error as err:
                 print(f"FAILED: {err}")
+
+        for migration in MIGRATIONS:
+            statements = migration if isinstance(migration, tuple) else (migration,)
+            try:
+                print(f"Applying '{' '.join(statements[0].split())[:60]}'... ", end='')
+                for statement in statements:
+                    cursor.execute(statement)
+                cnx.commit()
+                print("OK")
+            except mysql.connector.Error as err:
+                cnx.rollback()
+                if err.errno not in ALREADY_APPLIED:
+                    print(f"FAILED: {err}")
+                    print("Stopping; fix the error and re-run the script.")
+                    exit(1)
+                print(f"SKIPPED: {err}")
+        cnx.commit()
         cursor.close()
         cnx.close()
         print("All tables created successfully.")
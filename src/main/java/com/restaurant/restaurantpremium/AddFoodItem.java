@@ -175,19 +175,42 @@ public class AddFoodItem extends JFrame {
             String sql = "INSERT INTO food_items (name, description, original_price, price, discount_percentage, category, image_path, is_special) " +
                          "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
-            try (Connection conn = DBConnection.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                
-                pstmt.setString(1, name);
-                pstmt.setString(2, description);
-                pstmt.setDouble(3, originalPrice);
-                pstmt.setDouble(4, discountedPrice);
-                pstmt.setDouble(5, discountPercentage);
-                pstmt.setString(6, category);
-                pstmt.setString(7, imagePath);
-                pstmt.setBoolean(8, isSpecial);
-
-                pstmt.executeUpdate();
+            try (Connection conn = DBConnection.getConnection()) {
+                conn.setAutoCommit(false);
+
+                FoodItem saved = null;
+                try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    pstmt.setString(1, name);
+                    pstmt.setString(2, description);
+                    pstmt.setDouble(3, originalPrice);
+                    pstmt.setDouble(4, discountedPrice);
+                    pstmt.setDouble(5, discountPercentage);
+                    pstmt.setString(6, category);
+                    pstmt.setString(7, imagePath);
+                    pstmt.setBoolean(8, isSpecial);
+
+                    pstmt.executeUpdate();
+
+                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            saved = new FoodItem(
+                                keys.getInt(1), name, description, discountedPrice, category,
+                                imagePath, 0.0, isSpecial, originalPrice, discountPercentage);
+                            // Lets the other terminals pick up the new dish
+                            MenuChangeLog.record(conn, saved.getId(), MenuChangeLog.UPSERT);
+                        }
+                    }
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+
+                if (saved != null) {
+                    MenuCatalog.getInstance().put(saved);
+                }
 
                 showSuccess("Food item added successfully with a " + String.format("%.2f", discountPercentage) + "% discount!");
                 dispose();
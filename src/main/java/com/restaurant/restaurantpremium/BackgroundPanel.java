@@ -0,0 +1,118 @@
+package com.restaurant.restaurantpremium;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+
+// Panel whose background is rendered once per size into an image in the screen's native pixel
+// format and just copied on every repaint after that, so hovers and child repaints don't
+// rescale a photo or refill a gradient. Only a size change renders it again.
+//
+// Run with -Dgreenchilli.paintStats=true to print paint and render times when the panel goes away.
+public class BackgroundPanel extends JPanel {
+    private static final boolean PRINT_STATS = Boolean.getBoolean("greenchilli.paintStats");
+
+    private final String name;
+    private final RenderCache.Painter painter;
+    private BufferedImage rendered;
+
+    private long paints;
+    private long paintNanos;
+    private long renders;
+    private long renderNanos;
+
+    public BackgroundPanel(String name, LayoutManager layout, RenderCache.Painter painter) {
+        super(layout);
+        this.name = name;
+        this.painter = painter;
+        setOpaque(true);
+    }
+
+    // The image stretched to the panel, or a plain fill if it can't be read
+    public static BackgroundPanel image(String name, URL source, Color fallback) {
+        BufferedImage image = null;
+        if (source == null) {
+            System.err.println("Background image not found, using solid color");
+        } else {
+            try {
+                image = ImageIO.read(source);
+            } catch (IOException e) {
+                System.err.println("Could not read background image, using solid color: " + e.getMessage());
+            }
+        }
+        BufferedImage picture = image;
+        return new BackgroundPanel(name, null, (g, width, height) -> {
+            if (picture == null) {
+                g.setColor(fallback);
+                g.fillRect(0, 0, width, height);
+            } else {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(picture, 0, 0, width, height, null);
+            }
+        });
+    }
+
+    // Diagonal gradient from the top left corner to the bottom right one
+    public static BackgroundPanel gradient(String name, LayoutManager layout, Color from, Color to) {
+        return new BackgroundPanel(name, layout, (g, width, height) -> {
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setPaint(new GradientPaint(0, 0, from, width, height, to));
+            g.fillRect(0, 0, width, height);
+        });
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (rendered == null || rendered.getWidth() != width || rendered.getHeight() != height) {
+            render(width, height);
+        }
+        g.drawImage(rendered, 0, 0, null);
+        paints++;
+        paintNanos += System.nanoTime() - start;
+    }
+
+    private void render(int width, int height) {
+        long start = System.nanoTime();
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        rendered = config != null
+            ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rendered.createGraphics();
+        painter.paint(g, width, height);
+        g.dispose();
+        renders++;
+        renderNanos += System.nanoTime() - start;
+    }
+
+    public long getPaintCount() { return paints; }
+    public long getRenderCount() { return renders; }
+
+    // Mean time per paint in milliseconds, renders included
+    public double getAveragePaintMillis() {
+        return paints == 0 ? 0.0 : paintNanos / 1e6 / paints;
+    }
+
+    public double getAverageRenderMillis() {
+        return renders == 0 ? 0.0 : renderNanos / 1e6 / renders;
+    }
+
+    @Override
+    public void removeNotify() {
+        if (PRINT_STATS && paints > 0) {
+            System.out.printf("Background %s: %d paints, %.3f ms avg; %d renders, %.2f ms avg%n",
+                name, paints, getAveragePaintMillis(), renders, getAverageRenderMillis());
+        }
+        rendered = null;
+        super.removeNotify();
+    }
+}
@@ -0,0 +1,220 @@
+package com.restaurant.restaurantpremium;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Compares opening the billing menu as one JPanel per item (the old createMenuItemPanel
+// layout) against the JList + BillingMenuRenderer version. Uses synthetic items, so no
+// database is needed; "open" is build + layout + first paint of an 650x600 viewport.
+// Usage: BillingMenuBenchmark [menu sizes...]   e.g. 100 1000 5000
+public class BillingMenuBenchmark {
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+    private static final int RETAINED_SAMPLES = 3;
+    private static final Dimension VIEWPORT = new Dimension(650, 600);
+
+    private static final Color GREEN = new Color(0, 128, 0);
+    private static final Color PRICE_COLOR = new Color(200, 0, 0);
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length > 0
+            ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+            : new int[] { 100, 1000, 5000 };
+
+        System.out.printf("%-8s %14s %14s %14s %14s%n",
+            "items", "panels ms", "panels KB", "list ms", "list KB");
+        for (int size : sizes) {
+            List<FoodItem> items = syntheticMenu(size);
+            double[] panels = run(() -> openPanels(items));
+            double[] list = run(() -> openList(items));
+            System.out.printf("%-8d %14.1f %14.0f %14.1f %14.0f%n",
+                size, panels[0], panels[1], list[0], list[1]);
+        }
+        System.exit(0);
+    }
+
+    private interface Open {
+        JComponent run() throws Exception;
+    }
+
+    // Median open time in ms and the heap retained by the opened screen in KB
+    private static double[] run(Open open) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            onEdt(open);
+        }
+        long[] times = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            onEdt(open);
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+
+        // Swing keeps some state from the last screen built (and one-off caches from the first),
+        // so compare two batches of kept screens instead of one screen against an empty heap
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        List<JComponent> kept = new ArrayList<>();
+        long first = keepScreens(open, kept, memory);
+        long second = keepScreens(open, kept, memory);
+        kept.clear();
+        double retainedKb = (second - first) / (double) RETAINED_SAMPLES / 1024.0;
+        return new double[] { times[MEASURED_RUNS / 2] / 1_000_000.0, retainedKb };
+    }
+
+    // Opens RETAINED_SAMPLES more screens, keeps them reachable and returns the used heap
+    private static long keepScreens(Open open, List<JComponent> kept, MemoryMXBean memory) throws Exception {
+        for (int i = 0; i < RETAINED_SAMPLES; i++) {
+            kept.add(onEdt(open));
+        }
+        SwingUtilities.invokeAndWait(() -> { });
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static JComponent onEdt(Open open) throws Exception {
+        JComponent[] result = new JComponent[1];
+        Exception[] error = new Exception[1];
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                result[0] = open.run();
+            } catch (Exception e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] != null) {
+            throw error[0];
+        }
+        return result[0];
+    }
+
+    private static JComponent openList(List<FoodItem> items) {
+        ImageIcon placeholder = placeholder();
+        JList<FoodItem> list = new JList<>(items.toArray(new FoodItem[0]));
+        list.setFixedCellHeight(BillingMenuRenderer.ROW_HEIGHT);
+        list.setFixedCellWidth(600);
+        list.setCellRenderer(new BillingMenuRenderer(item -> placeholder));
+        return showInViewport(list);
+    }
+
+    private static JComponent openPanels(List<FoodItem> items) {
+        ImageIcon placeholder = placeholder();
+        NumberFormat rupeeFormat = NumberFormat.getCurrencyInstance(Locale.of("en", "IN"));
+        JPanel itemsPanel = new JPanel();
+        itemsPanel.setLayout(new BoxLayout(itemsPanel, BoxLayout.Y_AXIS));
+        for (FoodItem item : items) {
+            itemsPanel.add(legacyItemPanel(item, placeholder, rupeeFormat));
+            itemsPanel.add(Box.createVerticalStrut(10));
+        }
+        return showInViewport(itemsPanel);
+    }
+
+    // Lays the view out inside a scroll pane and paints the visible part offscreen
+    private static JComponent showInViewport(JComponent view) {
+        JScrollPane scroll = new JScrollPane(view);
+        scroll.setSize(VIEWPORT);
+        layoutTree(scroll);
+        BufferedImage canvas = new BufferedImage(VIEWPORT.width, VIEWPORT.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = canvas.createGraphics();
+        scroll.paint(g);
+        g.dispose();
+        return scroll;
+    }
+
+    // validate() is a no-op without a native peer, so lay the tree out by hand
+    private static void layoutTree(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) {
+                layoutTree((Container) child);
+            }
+        }
+    }
+
+    // Same component tree the billing screen used to build for every item
+    private static JPanel legacyItemPanel(FoodItem item, ImageIcon icon, NumberFormat rupeeFormat) {
+        JPanel panel = new JPanel(new BorderLayout(15, 0));
+        panel.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(200, 190, 180)),
+            BorderFactory.createEmptyBorder(10, 10, 10, 10))
+        );
+        panel.setBackground(new Color(255, 255, 255, 220));
+        panel.setMaximumSize(new Dimension(600, 80));
+        panel.add(new JLabel(icon), BorderLayout.WEST);
+
+        JPanel infoPanel = new JPanel();
+        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
+        infoPanel.setOpaque(false);
+        JLabel nameLabel = new JLabel(item.getName());
+        nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        JLabel descLabel = new JLabel("<html><i>" + item.getDescription() + "</i></html>");
+        descLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        infoPanel.add(nameLabel);
+        infoPanel.add(Box.createVerticalStrut(5));
+        infoPanel.add(descLabel);
+        panel.add(infoPanel, BorderLayout.CENTER);
+
+        JPanel rightPanel = new JPanel(new BorderLayout());
+        rightPanel.setOpaque(false);
+        JPanel pricePanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        pricePanel.setOpaque(false);
+        if (item.getDiscountPercentage() > 0) {
+            JLabel originalPriceLabel = new JLabel(rupeeFormat.format(item.getOriginalPrice()));
+            originalPriceLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+            pricePanel.add(originalPriceLabel);
+        }
+        JLabel priceLabel = new JLabel(rupeeFormat.format(item.getPrice()));
+        priceLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        priceLabel.setForeground(PRICE_COLOR);
+        pricePanel.add(priceLabel);
+        rightPanel.add(pricePanel, BorderLayout.CENTER);
+
+        JButton addButton = new JButton("ADD +");
+        addButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        addButton.setContentAreaFilled(false);
+        addButton.setBorder(BorderFactory.createEmptyBorder(8, 20, 8, 20));
+        addButton.setPreferredSize(new Dimension(80, 30));
+        addButton.addMouseListener(new MouseAdapter() {
+            public void mouseEntered(MouseEvent e) {
+                addButton.setBackground(GREEN.darker());
+            }
+            public void mouseExited(MouseEvent e) {
+                addButton.setBackground(GREEN);
+            }
+        });
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.setOpaque(false);
+        buttonPanel.add(addButton);
+        rightPanel.add(buttonPanel, BorderLayout.SOUTH);
+        panel.add(rightPanel, BorderLayout.EAST);
+        return panel;
+    }
+
+    private static ImageIcon placeholder() {
+        BufferedImage image = new BufferedImage(BillingMenuRenderer.THUMB_SIZE, BillingMenuRenderer.THUMB_SIZE,
+                                                BufferedImage.TYPE_INT_RGB);
+        return new ImageIcon(image);
+    }
+
+    private static List<FoodItem> syntheticMenu(int size) {
+        List<FoodItem> items = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            double price = 100 + (i % 400);
+            double discount = i % 3 == 0 ? 10 : 0;
+            items.add(new FoodItem(i, "Dish " + i, "Chef's preparation number " + i + " with house spices",
+                price * (100 - discount) / 100, "Main Course", null, 4.0, i % 10 == 0, price, discount));
+        }
+        return items;
+    }
+}
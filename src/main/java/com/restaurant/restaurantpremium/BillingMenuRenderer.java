@@ -0,0 +1,153 @@
+package com.restaurant.restaurantpremium;
+
+import javax.swing.*;
+import java.awt.*;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.function.Function;
+
+// Paints one billing menu row (thumbnail, name, description, price and ADD button). A single
+// instance serves every row of the list, so nothing is allocated per menu item.
+public class BillingMenuRenderer extends JComponent implements ListCellRenderer<FoodItem> {
+    public static final int ROW_HEIGHT = 90;
+    public static final int THUMB_SIZE = 70;
+    // Client property on the JList holding the index whose ADD button is under the mouse
+    public static final String HOVER_INDEX = "billing.hoverIndex";
+
+    private static final int CARD_HEIGHT = 80;
+    private static final int MAX_CARD_WIDTH = 600;
+    private static final int PADDING = 10;
+    private static final int BUTTON_WIDTH = 80;
+    private static final int BUTTON_HEIGHT = 30;
+
+    private static final Font NAME_FONT = new Font("Segoe UI", Font.BOLD, 16);
+    private static final Font DESC_FONT = new Font("Segoe UI", Font.ITALIC, 12);
+    private static final Font PRICE_FONT = new Font("Segoe UI", Font.BOLD, 14);
+    private static final Font BUTTON_FONT = new Font("Segoe UI", Font.BOLD, 14);
+
+    private static final Color CARD_BACKGROUND = new Color(255, 255, 255, 220);
+    private static final Color CARD_BORDER = new Color(200, 190, 180);
+    private static final Color NAME_COLOR = new Color(70, 50, 40);
+    private static final Color DESC_COLOR = new Color(100, 100, 100);
+    private static final Color PRICE_COLOR = new Color(200, 0, 0);
+    private static final Color BUTTON_COLOR = new Color(0, 128, 0);
+    private static final Color BUTTON_HOVER = new Color(0, 98, 0);
+
+    private final Function<FoodItem, ImageIcon> thumbnails;
+    private final NumberFormat rupeeFormat = NumberFormat.getCurrencyInstance(Locale.of("en", "IN"));
+
+    private FoodItem item;
+    private boolean hovered;
+    private boolean selected;
+
+    public BillingMenuRenderer(Function<FoodItem, ImageIcon> thumbnails) {
+        this.thumbnails = thumbnails;
+        setOpaque(false);
+    }
+
+    // Where the ADD button sits inside a row of the given width, for hit-testing clicks
+    public static Rectangle addButtonBounds(int rowWidth) {
+        int cardWidth = Math.min(rowWidth, MAX_CARD_WIDTH);
+        return new Rectangle(cardWidth - PADDING - BUTTON_WIDTH, CARD_HEIGHT - PADDING - BUTTON_HEIGHT,
+                             BUTTON_WIDTH, BUTTON_HEIGHT);
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends FoodItem> list, FoodItem value, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        item = value;
+        Object hoverIndex = list.getClientProperty(HOVER_INDEX);
+        hovered = hoverIndex instanceof Integer && (Integer) hoverIndex == index;
+        // Marks the row Enter or Space would add; only shown while the list has the keyboard
+        selected = isSelected && list.hasFocus();
+        return this;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (item == null) {
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        int cardWidth = Math.min(getWidth(), MAX_CARD_WIDTH);
+
+        g2.setColor(CARD_BACKGROUND);
+        g2.fillRect(0, 0, cardWidth, CARD_HEIGHT);
+        if (selected) {
+            g2.setColor(BUTTON_COLOR);
+            g2.setStroke(new BasicStroke(2));
+            g2.drawRect(1, 1, cardWidth - 2, CARD_HEIGHT - 2);
+            g2.setStroke(new BasicStroke(1));
+        } else {
+            g2.setColor(CARD_BORDER);
+            g2.drawRect(0, 0, cardWidth - 1, CARD_HEIGHT - 1);
+        }
+
+        // Left side - Image
+        ImageIcon thumb = thumbnails.apply(item);
+        if (thumb != null) {
+            thumb.paintIcon(this, g2, PADDING, (CARD_HEIGHT - THUMB_SIZE) / 2);
+        }
+
+        // Right side - Price
+        g2.setFont(PRICE_FONT);
+        FontMetrics fm = g2.getFontMetrics();
+        int right = cardWidth - PADDING;
+        int baseline = PADDING + fm.getAscent();
+        String price = rupeeFormat.format(item.getPrice());
+        int x = right - fm.stringWidth(price);
+        g2.setColor(PRICE_COLOR);
+        g2.drawString(price, x, baseline);
+        if (item.getDiscountPercentage() > 0) {
+            String original = rupeeFormat.format(item.getOriginalPrice());
+            x -= fm.stringWidth(original) + 10;
+            g2.setColor(Color.GRAY);
+            g2.drawString(original, x, baseline);
+            int strikeY = baseline - fm.getAscent() / 3;
+            g2.drawLine(x, strikeY, x + fm.stringWidth(original), strikeY);
+        }
+        int textRight = x - 15;
+
+        // Add button
+        Rectangle button = addButtonBounds(getWidth());
+        g2.setColor(hovered ? BUTTON_HOVER : BUTTON_COLOR);
+        g2.fillRoundRect(button.x, button.y, button.width, button.height, 8, 8);
+        g2.setFont(BUTTON_FONT);
+        g2.setColor(Color.WHITE);
+        fm = g2.getFontMetrics();
+        g2.drawString("ADD +", button.x + (button.width - fm.stringWidth("ADD +")) / 2,
+                      button.y + (button.height - fm.getHeight()) / 2 + fm.getAscent());
+
+        // Center - Item info
+        int left = PADDING + THUMB_SIZE + 15;
+        g2.setFont(NAME_FONT);
+        g2.setColor(NAME_COLOR);
+        fm = g2.getFontMetrics();
+        int y = PADDING + fm.getAscent();
+        g2.drawString(ellipsize(item.getName(), fm, textRight - left), left, y);
+        y += fm.getDescent() + 5;
+
+        g2.setFont(DESC_FONT);
+        g2.setColor(DESC_COLOR);
+        fm = g2.getFontMetrics();
+        g2.drawString(ellipsize(item.getDescription(), fm, button.x - 10 - left), left, y + fm.getAscent());
+
+        g2.dispose();
+    }
+
+    private static String ellipsize(String text, FontMetrics fm, int width) {
+        if (text == null) {
+            return "";
+        }
+        if (fm.stringWidth(text) <= width) {
+            return text;
+        }
+        int end = text.length();
+        while (end > 0 && fm.stringWidth(text.substring(0, end) + "…") > width) {
+            end--;
+        }
+        return text.substring(0, end) + "…";
+    }
+}
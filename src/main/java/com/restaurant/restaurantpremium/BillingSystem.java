@@ -4,15 +4,16 @@ import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.image.BufferedImage;
-import java.net.URL;
+import java.io.IOException;
 import java.sql.*;
-import java.text.NumberFormat;
-import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class BillingSystem extends JFrame {
+    private static final Font BUTTON_FONT = new Font("Segoe UI", Font.BOLD, 14);
+    private static final Font PLACEHOLDER_FONT = new Font("SansSerif", Font.BOLD, 10);
+
     private final Color GREEN = new Color(0, 128, 0);
     private final Color RED = new Color(255, 0, 0);
     private final Color BLUE = new Color(0, 0, 255);
@@ -20,13 +21,19 @@ public class BillingSystem extends JFrame {
     private final Color PRICE_COLOR = new Color(200, 0, 0);
     
     private List<FoodItem> foodItems = new ArrayList<>();
-    private DefaultListModel<String> cartModel = new DefaultListModel<>();
-    private JList<String> cartList;
+    private final OrderService orders = OrderService.getInstance();
+    private String cartId = orders.openCart();
+    private final CartListModel cartModel = new CartListModel();
+    // Set from Confirm Payment until the order is journaled; the cart can't change meanwhile
+    private boolean checkoutPending;
+    private JButton removeButton, clearButton, checkoutButton;
+    private JList<CartLine> cartList;
+    private JList<FoodItem> menuList;
     private JLabel subtotalLabel, taxLabel, totalLabel;
-    private double subtotal = 0.0;
-    private final double TAX_RATE = 0.05;
-    private NumberFormat rupeeFormat = NumberFormat.getCurrencyInstance(new Locale("en", "IN"));
-    private Map<String, ImageIcon> imageCache = new HashMap<>();
+    private Map<Integer, ImageLoader.Request> pendingThumbnails = new HashMap<>();
+    private final Consumer<String> imageChanged = this::reloadThumbnails;
+    private JLabel outboxLabel;
+    private final Runnable outboxChanged = () -> SwingUtilities.invokeLater(this::updateOutboxStatus);
 
     public BillingSystem() {
         setTitle("Green Chilli - Billing");
@@ -43,48 +50,14 @@ public class BillingSystem extends JFrame {
         
         loadMenuItems();
         initUI();
+        ImageDirectoryWatcher.addListener(imageChanged);
+        watchOutbox();
     }
 
     private void loadMenuItems() {
         foodItems.clear();
-        try (Connection conn = DBConnection.getConnection()) {
-            // Load food items
-            String foodItemsSql = "SELECT *, " +
-                                "CASE WHEN discount_percentage > 0 THEN original_price ELSE price END AS display_price, " +
-                                "discount_percentage " +
-                                "FROM food_items ORDER BY name";
-            try (Statement stmt = conn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-                 ResultSet rs = stmt.executeQuery(foodItemsSql)) {
-                
-                while (rs.next()) {
-                    FoodItem item = new FoodItem(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("description"),
-                        rs.getDouble("price"),
-                        rs.getString("category"),
-                        rs.getString("image_path"),
-                        rs.getDouble("avg_rating"),
-                        rs.getBoolean("is_special"),
-                        rs.getDouble("original_price"),
-                        rs.getDouble("discount_percentage")
-                    );
-                    foodItems.add(item);
-                }
-            }
-
-            // Load reviews for each food item
-            for (FoodItem item : foodItems) {
-                String reviewsSql = "SELECT comment FROM reviews WHERE food_id = ?";
-                try (PreparedStatement pstmt = conn.prepareStatement(reviewsSql)) {
-                    pstmt.setInt(1, item.getId());
-                    try (ResultSet rs = pstmt.executeQuery()) {
-                        while (rs.next()) {
-                            item.addReview(rs.getString("comment"));
-                        }
-                    }
-                }
-            }
+        try {
+            foodItems.addAll(MenuCatalog.getInstance().getItems());
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, 
                 "Error loading menu: " + e.getMessage(),
@@ -94,19 +67,8 @@ public class BillingSystem extends JFrame {
     }
 
     private void initUI() {
-        JPanel mainPanel = new JPanel(new BorderLayout()) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                Color color1 = new Color(250, 245, 240);
-                Color color2 = new Color(220, 210, 200);
-                GradientPaint gp = new GradientPaint(0, 0, color1, getWidth(), getHeight(), color2);
-                g2d.setPaint(gp);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-            }
-        };
+        JPanel mainPanel = BackgroundPanel.gradient("billing", new BorderLayout(),
+            new Color(250, 245, 240), new Color(220, 210, 200));
         mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         mainPanel.setOpaque(true);
 
@@ -131,16 +93,10 @@ public class BillingSystem extends JFrame {
         );
         menuPanel.setOpaque(false);
         
-        JPanel itemsPanel = new JPanel();
-        itemsPanel.setLayout(new BoxLayout(itemsPanel, BoxLayout.Y_AXIS));
-        itemsPanel.setOpaque(false);
-        
-        for (FoodItem item : foodItems) {
-            itemsPanel.add(createMenuItemPanel(item));
-            itemsPanel.add(Box.createVerticalStrut(10));
-        }
+        menuList = createMenuList();
 
-        JScrollPane menuScroll = new JScrollPane(itemsPanel);
+        JScrollPane menuScroll = new JScrollPane(menuList);
+        menuScroll.getViewport().addChangeListener(e -> cancelHiddenThumbnails());
         menuScroll.setOpaque(false);
         menuScroll.getViewport().setOpaque(false);
         menuScroll.setBorder(BorderFactory.createEmptyBorder());
@@ -172,11 +128,11 @@ public class BillingSystem extends JFrame {
         JPanel cartControls = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
         cartControls.setOpaque(false);
         
-        JButton removeButton = createStyledButton("Remove Selected", RED);
+        removeButton = createStyledButton("Remove Selected", RED);
         removeButton.addActionListener(e -> removeSelectedItem());
         cartControls.add(removeButton);
 
-        JButton clearButton = createStyledButton("Clear All", GRAY);
+        clearButton = createStyledButton("Clear All", GRAY);
         clearButton.addActionListener(e -> clearCart());
         cartControls.add(clearButton);
 
@@ -228,7 +184,7 @@ public class BillingSystem extends JFrame {
         totalsPanel.add(totalLabel, gbc);
 
         // Checkout Button
-        JButton checkoutButton = createStyledButton("PROCEED TO PAYMENT", GREEN);
+        checkoutButton = createStyledButton("PROCEED TO PAYMENT", GREEN);
         checkoutButton.setFont(new Font("Segoe UI", Font.BOLD, 18));
         checkoutButton.setPreferredSize(new Dimension(300, 50));
         checkoutButton.addActionListener(e -> checkout());
@@ -247,6 +203,11 @@ public class BillingSystem extends JFrame {
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         bottomPanel.setOpaque(false);
         bottomPanel.add(checkoutButton);
+        outboxLabel = new JLabel();
+        outboxLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        outboxLabel.setForeground(new Color(80, 60, 40));
+        outboxLabel.setBorder(BorderFactory.createEmptyBorder(0, 20, 0, 0));
+        bottomPanel.add(outboxLabel);
 
         mainPanel.add(headerPanel, BorderLayout.NORTH);
         mainPanel.add(centerPanel, BorderLayout.CENTER);
@@ -256,178 +217,247 @@ public class BillingSystem extends JFrame {
     }
 
     private JButton createStyledButton(String text, Color bgColor) {
+        Color hover = shade(bgColor, 30);
+        Color pressed = shade(bgColor, 60);
         JButton button = new JButton(text) {
+            private RenderCache.ButtonStyle style;
+            private Font styleFont;
+
+            // Built from the current font, so a font set after creation is honoured
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g2.setColor(bgColor);
-                g2.fillRoundRect(0, 0, getWidth(), getHeight(), 8, 8);
-                g2.setColor(Color.WHITE);
-                FontMetrics fm = g2.getFontMetrics();
-                int x = (getWidth() - fm.stringWidth(getText())) / 2;
-                int y = ((getHeight() - fm.getHeight()) / 2) + fm.getAscent();
-                g2.drawString(getText(), x, y);
-                g2.dispose();
+                if (style == null || !getFont().equals(styleFont)) {
+                    styleFont = getFont();
+                    style = new RenderCache.ButtonStyle(bgColor, hover, pressed, Color.WHITE, styleFont, 8);
+                }
+                RenderCache.paintButton(g, this, style);
             }
         };
-        button.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        button.setFont(BUTTON_FONT);
         button.setForeground(Color.WHITE);
         button.setContentAreaFilled(false);
         button.setBorder(BorderFactory.createEmptyBorder(8, 20, 8, 20));
         button.setOpaque(false);
         button.setCursor(new Cursor(Cursor.HAND_CURSOR));
-        button.addMouseListener(new MouseAdapter() {
-            public void mouseEntered(MouseEvent e) {
-                button.setBackground(new Color(
-                    Math.max(0, bgColor.getRed() - 30),
-                    Math.max(0, bgColor.getGreen() - 30),
-                    Math.max(0, bgColor.getBlue() - 30)
-                ));
+        // The hover fill follows the model's rollover state, which not every look and feel tracks
+        button.setRolloverEnabled(true);
+        return button;
+    }
+
+    private static Color shade(Color color, int amount) {
+        return new Color(
+            Math.max(0, color.getRed() - amount),
+            Math.max(0, color.getGreen() - amount),
+            Math.max(0, color.getBlue() - amount)
+        );
+    }
+
+    // One JList and one shared renderer for the whole menu; rows are only painted when they
+    // scroll into view, and clicks on the painted ADD button are hit-tested here.
+    private JList<FoodItem> createMenuList() {
+        JList<FoodItem> menuList = new JList<>(new AbstractListModel<FoodItem>() {
+            @Override
+            public int getSize() {
+                return foodItems.size();
             }
-            public void mouseExited(MouseEvent e) {
-                button.setBackground(bgColor);
+
+            @Override
+            public FoodItem getElementAt(int index) {
+                return foodItems.get(index);
             }
         });
-        return button;
+        menuList.setOpaque(false);
+        // Selection is only for the keyboard: arrow keys pick a row, Enter or Space adds it
+        menuList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        Action addSelected = new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                FoodItem item = menuList.getSelectedValue();
+                if (item != null) {
+                    addToCart(item);
+                }
+            }
+        };
+        menuList.getInputMap(JComponent.WHEN_FOCUSED).put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "addSelected");
+        menuList.getInputMap(JComponent.WHEN_FOCUSED).put(KeyStroke.getKeyStroke(KeyEvent.VK_SPACE, 0), "addSelected");
+        menuList.getActionMap().put("addSelected", addSelected);
+        menuList.setFixedCellHeight(BillingMenuRenderer.ROW_HEIGHT);
+        menuList.setFixedCellWidth(600);
+        menuList.setCellRenderer(new BillingMenuRenderer(this::getThumbnail));
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = addButtonAt(menuList, e.getPoint());
+                if (index != -1) {
+                    addToCart(menuList.getModel().getElementAt(index));
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoverIndex(menuList, addButtonAt(menuList, e.getPoint()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoverIndex(menuList, -1);
+            }
+        };
+        menuList.addMouseListener(mouse);
+        menuList.addMouseMotionListener(mouse);
+        return menuList;
     }
 
-    private JPanel createMenuItemPanel(FoodItem item) {
-        JPanel panel = new JPanel(new BorderLayout(15, 0));
-        panel.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(200, 190, 180)),
-            BorderFactory.createEmptyBorder(10, 10, 10, 10))
-        );
-        panel.setBackground(new Color(255, 255, 255, 220));
-        panel.setMaximumSize(new Dimension(600, 80));
+    // Index of the row whose ADD button is under the point, or -1
+    private int addButtonAt(JList<FoodItem> list, Point point) {
+        int index = list.locationToIndex(point);
+        if (index == -1) {
+            return -1;
+        }
+        Rectangle cell = list.getCellBounds(index, index);
+        if (cell == null || !cell.contains(point)) {
+            return -1;
+        }
+        Rectangle button = BillingMenuRenderer.addButtonBounds(cell.width);
+        button.translate(cell.x, cell.y);
+        return button.contains(point) ? index : -1;
+    }
 
-        // Left side - Image
-        try {
-            ImageIcon icon = imageCache.getOrDefault(
-                item.getImagePath() + "_thumb", 
-                imageCache.get(item.getImagePath())
-            );
-            
-            if (icon == null) {
-                icon = loadFoodImage(item.getImagePath(), item.getName());
-                Image scaledImage = icon.getImage().getScaledInstance(70, 70, Image.SCALE_SMOOTH);
-                icon = new ImageIcon(scaledImage);
-                imageCache.put(item.getImagePath() + "_thumb", icon);
+    private void setHoverIndex(JList<FoodItem> list, int index) {
+        Object previous = list.getClientProperty(BillingMenuRenderer.HOVER_INDEX);
+        int old = previous instanceof Integer ? (Integer) previous : -1;
+        if (old == index) {
+            return;
+        }
+        list.putClientProperty(BillingMenuRenderer.HOVER_INDEX, index);
+        list.setCursor(index != -1 ? new Cursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
+        for (int row : new int[] { old, index }) {
+            Rectangle cell = row == -1 ? null : list.getCellBounds(row, row);
+            if (cell != null) {
+                list.repaint(cell);
             }
-            
-            JLabel imageLabel = new JLabel(icon);
-            panel.add(imageLabel, BorderLayout.WEST);
-        } catch (Exception e) {
-            panel.add(new JLabel("No Image"), BorderLayout.WEST);
         }
+    }
 
-        // Center - Item info
-        JPanel infoPanel = new JPanel();
-        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
-        infoPanel.setOpaque(false);
-        
-        JLabel nameLabel = new JLabel(item.getName());
-        nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 16));
-        nameLabel.setForeground(new Color(70, 50, 40));
-        
-        JLabel descLabel = new JLabel("<html><i>" + item.getDescription() + "</i></html>");
-        descLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        descLabel.setForeground(new Color(100, 100, 100));
-        
-        infoPanel.add(nameLabel);
-        infoPanel.add(Box.createVerticalStrut(5));
-        infoPanel.add(descLabel);
-        panel.add(infoPanel, BorderLayout.CENTER);
-
-        // Right side - Price and Add button
-        JPanel rightPanel = new JPanel(new BorderLayout());
-        rightPanel.setOpaque(false);
-        
-        // Price panel
-        JPanel pricePanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
-        pricePanel.setOpaque(false);
-        
-        if (item.getDiscountPercentage() > 0) {
-            JLabel originalPriceLabel = new JLabel(rupeeFormat.format(item.getOriginalPrice())) {
-                @Override
-                protected void paintComponent(Graphics g) {
-                    super.paintComponent(g);
-                    Graphics2D g2 = (Graphics2D) g;
-                    g2.setColor(Color.GRAY);
-                    int y = getHeight() / 2;
-                    g2.drawLine(0, y, getWidth(), y);
+    // Cached thumbnail, or a placeholder while the real one loads in the background
+    private ImageIcon getThumbnail(FoodItem item) {
+        ImageCache cache = ImageCache.getInstance();
+        String path = item.getImagePath();
+        int size = BillingMenuRenderer.THUMB_SIZE;
+        ImageIcon icon = cache.get(path, size, size);
+        if (icon != null) {
+            return icon;
+        }
+        ImageLoader.Request pending = pendingThumbnails.get(item.getId());
+        if (!cache.isMissing(path, size, size) && (pending == null || pending.isAbandoned())) {
+            pendingThumbnails.put(item.getId(), ImageLoader.getInstance().load(path, size, size, loaded -> {
+                pendingThumbnails.remove(item.getId());
+                if (loaded != null) {
+                    cache.put(path, size, size, loaded);
+                } else {
+                    cache.markMissing(path, size, size);
                 }
-            };
-            originalPriceLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
-            originalPriceLabel.setForeground(Color.GRAY);
-            originalPriceLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 5));
-            
-            JLabel discountedPrice = new JLabel(rupeeFormat.format(item.getPrice()));
-            discountedPrice.setFont(new Font("Segoe UI", Font.BOLD, 14));
-            discountedPrice.setForeground(PRICE_COLOR);
-            
-            pricePanel.add(originalPriceLabel);
-            pricePanel.add(discountedPrice);
-        } else {
-            JLabel priceLabel = new JLabel(rupeeFormat.format(item.getPrice()));
-            priceLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
-            priceLabel.setForeground(PRICE_COLOR);
-            pricePanel.add(priceLabel);
+                menuList.repaint();
+            }));
         }
-        
-        rightPanel.add(pricePanel, BorderLayout.CENTER);
-        
-        // Add button
-        JButton addButton = createStyledButton("ADD +", GREEN);
-        addButton.setPreferredSize(new Dimension(80, 30));
-        addButton.addActionListener(e -> addToCart(item));
-        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-        buttonPanel.setOpaque(false);
-        buttonPanel.add(addButton);
-        rightPanel.add(buttonPanel, BorderLayout.SOUTH);
-        
-        panel.add(rightPanel, BorderLayout.EAST);
+        return createPlaceholderIcon();
+    }
 
-        return panel;
+    // Rows scrolled out of view no longer need their thumbnails decoded
+    private void cancelHiddenThumbnails() {
+        if (pendingThumbnails.isEmpty()) {
+            return;
+        }
+        Set<Integer> visible = new HashSet<>();
+        int first = menuList.getFirstVisibleIndex();
+        int last = menuList.getLastVisibleIndex();
+        for (int i = Math.max(0, first); i <= last; i++) {
+            visible.add(foodItems.get(i).getId());
+        }
+        Iterator<Map.Entry<Integer, ImageLoader.Request>> it = pendingThumbnails.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, ImageLoader.Request> entry = it.next();
+            if (!visible.contains(entry.getKey())) {
+                entry.getValue().cancel();
+                it.remove();
+            }
+        }
     }
 
-    class CartItemRenderer extends DefaultListCellRenderer {
-        @Override
-        public Component getListCellRendererComponent(JList<?> list, Object value, int index, 
-                                                    boolean isSelected, boolean cellHasFocus) {
-            JPanel panel = new JPanel(new BorderLayout());
+    // An image file changed on disk; visible rows using it fetch it again on the next paint
+    private void reloadThumbnails(String fileName) {
+        for (FoodItem item : foodItems) {
+            if (fileName.equals(ImageLoader.fileName(item.getImagePath()))) {
+                ImageLoader.Request pending = pendingThumbnails.remove(item.getId());
+                if (pending != null) {
+                    pending.cancel();
+                }
+            }
+        }
+        menuList.repaint();
+    }
+
+    @Override
+    public void dispose() {
+        ImageDirectoryWatcher.removeListener(imageChanged);
+        orders.closeCart(cartId);
+        try {
+            OrderOutbox.getInstance().removeListener(outboxChanged);
+        } catch (IOException e) {
+            // Never opened, so never listened to
+        }
+        for (ImageLoader.Request pending : pendingThumbnails.values()) {
+            pending.cancel();
+        }
+        pendingThumbnails.clear();
+        super.dispose();
+    }
+
+    // One panel reused for every row
+    class CartItemRenderer implements ListCellRenderer<CartLine> {
+        private final JPanel panel = new JPanel(new BorderLayout());
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel priceLabel = new JLabel();
+
+        CartItemRenderer() {
             panel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
-            panel.setBackground(isSelected ? new Color(220, 230, 240) : Color.WHITE);
-            
-            String[] parts = value.toString().split(" - ₹");
-            JLabel nameLabel = new JLabel(parts[0]);
             nameLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-            
-            JLabel priceLabel = new JLabel("₹" + parts[1]);
             priceLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
             priceLabel.setForeground(PRICE_COLOR);
-            
             panel.add(nameLabel, BorderLayout.WEST);
             panel.add(priceLabel, BorderLayout.EAST);
-            
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends CartLine> list, CartLine line, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            panel.setBackground(isSelected ? new Color(220, 230, 240) : Color.WHITE);
+            nameLabel.setText(line.getLabel());
+            priceLabel.setText(Money.format(line.getLineTotal()));
             return panel;
         }
     }
 
     private void addToCart(FoodItem item) {
-        cartModel.addElement(String.format("%s - ₹%.2f", item.getName(), item.getPrice()));
-        subtotal += item.getPrice();
-        updateTotals();
+        if (checkoutPending) {
+            return;
+        }
+        showQuote(orders.addItem(cartId, item));
     }
 
+    // Takes one of the selected dish off the order
     private void removeSelectedItem() {
+        if (checkoutPending) {
+            return;
+        }
         int selectedIndex = cartList.getSelectedIndex();
-        if (selectedIndex != -1) {
-            String item = cartModel.get(selectedIndex);
-            double price = Double.parseDouble(item.split("₹")[1]);
-            subtotal -= price; // Fixed: Subtract the price, not PRICE_COLOR
-            cartModel.remove(selectedIndex);
-            updateTotals();
+        CartLine selected = cartList.getSelectedValue();
+        if (selected != null) {
+            showQuote(orders.removeItem(cartId, selected.getFoodId()));
+            if (selected.getQuantity() > 1) {
+                cartList.setSelectedIndex(selectedIndex);
+            }
         } else {
             JOptionPane.showMessageDialog(this, 
                 "Please select an item to remove", 
@@ -437,7 +467,10 @@ public class BillingSystem extends JFrame {
     }
 
     private void clearCart() {
-        if (cartModel.isEmpty()) {
+        if (checkoutPending) {
+            return;
+        }
+        if (orders.price(cartId).isEmpty()) {
             JOptionPane.showMessageDialog(this, 
                 "Cart is already empty", 
                 "Empty Cart", 
@@ -451,23 +484,23 @@ public class BillingSystem extends JFrame {
             JOptionPane.YES_NO_OPTION);
         
         if (confirm == JOptionPane.YES_OPTION) {
-            cartModel.clear();
-            subtotal = 0.0;
-            updateTotals();
+            showQuote(orders.clearCart(cartId));
         }
     }
 
-    private void updateTotals() {
-        double tax = subtotal * TAX_RATE;
-        double total = subtotal + tax;
-        
-        ((JLabel)((BorderLayout)subtotalLabel.getLayout()).getLayoutComponent(BorderLayout.EAST)).setText("₹" + String.format("%.2f", subtotal));
-        ((JLabel)((BorderLayout)taxLabel.getLayout()).getLayoutComponent(BorderLayout.EAST)).setText("₹" + String.format("%.2f", tax));
-        ((JLabel)((BorderLayout)totalLabel.getLayout()).getLayoutComponent(BorderLayout.EAST)).setText("₹" + String.format("%.2f", total));
+    private void showQuote(OrderService.Quote quote) {
+        cartModel.show(quote);
+        ((JLabel)((BorderLayout)subtotalLabel.getLayout()).getLayoutComponent(BorderLayout.EAST)).setText(Money.format(quote.getSubtotal()));
+        ((JLabel)((BorderLayout)taxLabel.getLayout()).getLayoutComponent(BorderLayout.EAST)).setText(Money.format(quote.getGst()));
+        ((JLabel)((BorderLayout)totalLabel.getLayout()).getLayoutComponent(BorderLayout.EAST)).setText(Money.format(quote.getTotal()));
     }
 
     private void checkout() {
-        if (cartModel.isEmpty()) {
+        if (checkoutPending) {
+            return;
+        }
+        OrderService.Quote quote = orders.price(cartId);
+        if (quote.isEmpty()) {
             JOptionPane.showMessageDialog(this, 
                 "Your cart is empty!", 
                 "Checkout", 
@@ -484,8 +517,7 @@ public class BillingSystem extends JFrame {
             customerName = "Guest";
         }
 
-        double tax = subtotal * TAX_RATE;
-        double total = subtotal + tax;
+        long total = quote.getTotal();
 
         JDialog checkoutDialog = new JDialog(this, "Confirm Payment", true);
         checkoutDialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
@@ -521,40 +553,7 @@ public class BillingSystem extends JFrame {
         itemsArea.setFont(new Font("Monospaced", Font.PLAIN, 14));
         itemsArea.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
         
-        StringBuilder receiptText = new StringBuilder();
-        receiptText.append("==================== GREEN CHILLI ====================\n");
-        receiptText.append("================= A Bait of Flavours ==================\n\n");
-        receiptText.append("--------------------------------------------------\n");
-        receiptText.append(String.format("%-40s\n", "RECEIPT"));
-        receiptText.append("--------------------------------------------------\n");
-        receiptText.append(String.format("%-30s %s\n", "Customer Name:", customerName));
-        
-        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy");
-        SimpleDateFormat timeFormat = new SimpleDateFormat("hh:mm:ss a");
-        java.util.Date currentDate = new java.util.Date();
-        receiptText.append(String.format("%-30s %s\n", "Date:", dateFormat.format(currentDate)));
-        receiptText.append(String.format("%-30s %s\n", "Time:", timeFormat.format(currentDate)));
-        
-        receiptText.append("--------------------------------------------------\n");
-        receiptText.append(String.format("%-30s %10s\n", "ITEM", "PRICE"));
-        receiptText.append("--------------------------------------------------\n");
-        
-        for (int i = 0; i < cartModel.size(); i++) {
-            String item = cartModel.get(i);
-            String[] parts = item.split(" - ₹");
-            receiptText.append(String.format("%-30s ₹%10s\n", parts[0], parts[1]));
-        }
-        
-        receiptText.append("--------------------------------------------------\n");
-        receiptText.append(String.format("%-30s ₹%10.2f\n", "SUBTOTAL:", subtotal));
-        receiptText.append(String.format("%-30s ₹%10.2f\n", "GST (5%):", tax));
-        receiptText.append("--------------------------------------------------\n");
-        receiptText.append(String.format("%-30s ₹%10.2f\n", "TOTAL:", total));
-        receiptText.append("--------------------------------------------------\n\n");
-        receiptText.append("Payment Method: Cash/Card\n");
-        receiptText.append("Thank you for dining with us at Green Chilli!\n");
-        
-        itemsArea.setText(receiptText.toString());
+        itemsArea.setText(OrderService.receipt(quote, customerName, new java.util.Date()));
         receiptPanel.add(new JScrollPane(itemsArea), BorderLayout.CENTER);
         
         JPanel footerPanel = new JPanel();
@@ -576,8 +575,26 @@ public class BillingSystem extends JFrame {
         JButton confirmButton = createStyledButton("Confirm Payment", GREEN);
         confirmButton.addActionListener(e -> {
             checkoutDialog.dispose();
-            storeReceiptInDatabase(subtotal, tax, total);
-            processPayment(total);
+            // The next order gets its cart before this one's is closed, so cartId always
+            // names an open cart
+            String paidCartId = cartId;
+            cartId = orders.openCart();
+            setCheckoutPending(true);
+            orders.checkout(paidCartId).whenComplete((order, error) -> SwingUtilities.invokeLater(() -> {
+                setCheckoutPending(false);
+                if (error != null) {
+                    orders.closeCart(cartId);
+                    cartId = paidCartId;
+                    JOptionPane.showMessageDialog(this,
+                        "Error saving order: " + rootMessage(error),
+                        "Order Error",
+                        JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                // The screen shows the new, empty cart however the payment dialog is closed
+                showQuote(orders.price(cartId));
+                processPayment(total);
+            }));
         });
         
         JButton cancelButton = createStyledButton("Cancel", RED);
@@ -598,75 +615,44 @@ public class BillingSystem extends JFrame {
         checkoutDialog.setVisible(true);
     }
 
-    private void storeReceiptInDatabase(double subtotal, double tax, double total) {
-        try (Connection conn = DBConnection.getConnection()) {
-            conn.setAutoCommit(false);
-            
-            try {
-                String orderSql = "INSERT INTO orders (order_date, subtotal, tax, total) VALUES (?, ?, ?, ?)";
-                PreparedStatement orderStmt = conn.prepareStatement(orderSql, Statement.RETURN_GENERATED_KEYS);
-                orderStmt.setTimestamp(1, new java.sql.Timestamp(System.currentTimeMillis()));
-                orderStmt.setDouble(2, subtotal);
-                orderStmt.setDouble(3, tax);
-                orderStmt.setDouble(4, total);
-                
-                int affectedRows = orderStmt.executeUpdate();
-                if (affectedRows == 0) {
-                    throw new SQLException("Creating order failed, no rows affected.");
-                }
-                
-                int orderId;
-                try (ResultSet generatedKeys = orderStmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        orderId = generatedKeys.getInt(1);
-                    } else {
-                        throw new SQLException("Creating order failed, no ID obtained.");
-                    }
-                }
-                
-                String itemSql = "INSERT INTO order_items (order_id, food_item_id, item_name, item_price) " +
-                               "VALUES (?, ?, ?, ?)";
-                PreparedStatement itemStmt = conn.prepareStatement(itemSql);
-                
-                for (int i = 0; i < cartModel.size(); i++) {
-                    String item = cartModel.get(i);
-                    String[] parts = item.split(" - ₹");
-                    String itemName = parts[0];
-                    double itemPrice = Double.parseDouble(parts[1]);
-                    
-                    FoodItem foodItem = foodItems.stream()
-                        .filter(f -> f.getName().equals(itemName))
-                        .findFirst()
-                        .orElse(null);
-                    
-                    if (foodItem != null) {
-                        itemStmt.setInt(1, orderId);
-                        itemStmt.setInt(2, foodItem.getId());
-                        itemStmt.setString(3, foodItem.getName());
-                        itemStmt.setDouble(4, foodItem.getPrice());
-                        itemStmt.addBatch();
-                    }
-                }
-                
-                itemStmt.executeBatch();
-                conn.commit();
-                
-            } catch (SQLException e) {
-                conn.rollback();
-                throw e;
-            } finally {
-                conn.setAutoCommit(true);
-            }
-            
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Error saving receipt to database: " + e.getMessage(),
-                "Database Error",
-                JOptionPane.ERROR_MESSAGE);
+    private void setCheckoutPending(boolean pending) {
+        checkoutPending = pending;
+        removeButton.setEnabled(!pending);
+        clearButton.setEnabled(!pending);
+        checkoutButton.setEnabled(!pending);
+    }
+
+    private static String rootMessage(Throwable error) {
+        while (error.getCause() != null) {
+            error = error.getCause();
         }
+        return error.getMessage();
     }
 
-    private void processPayment(double total) {
+    private void watchOutbox() {
+        try {
+            OrderOutbox.getInstance().addListener(outboxChanged);
+        } catch (IOException e) {
+            System.err.println("Order outbox unavailable: " + e.getMessage());
+            outboxLabel.setText("Orders: outbox unavailable");
+            return;
+        }
+        updateOutboxStatus();
+    }
+
+    private void updateOutboxStatus() {
+        try {
+            OrderOutbox outbox = OrderOutbox.getInstance();
+            int rejected = outbox.getRejectedCount();
+            outboxLabel.setText("Orders: " + outbox.getPendingCount() + " pending · "
+                + outbox.getSyncedCount() + " synced"
+                + (rejected > 0 ? " · " + rejected + " rejected, see log" : ""));
+        } catch (IOException e) {
+            outboxLabel.setText("Orders: outbox unavailable");
+        }
+    }
+
+    private void processPayment(long total) {
         JDialog paymentDialog = new JDialog(this, "Payment Complete", true);
         paymentDialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
         paymentDialog.getContentPane().setBackground(Color.WHITE);
@@ -683,19 +669,14 @@ public class BillingSystem extends JFrame {
             System.out.println("Success icon not found");
         }
         
-        JLabel messageLabel = new JLabel("<html><center>Payment Successful!<br>₹" + 
-            String.format("%.2f", total) + " has been charged.</center></html>", 
+        JLabel messageLabel = new JLabel("<html><center>Payment Successful!<br>" + 
+            Money.format(total) + " has been charged.</center></html>", 
             SwingConstants.CENTER);
         messageLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
         paymentPanel.add(messageLabel, BorderLayout.CENTER);
         
         JButton closeButton = createStyledButton("Finish", GREEN);
-        closeButton.addActionListener(e -> {
-            cartModel.clear();
-            subtotal = 0.0;
-            updateTotals();
-            paymentDialog.dispose();
-        });
+        closeButton.addActionListener(e -> paymentDialog.dispose());
         
         JPanel buttonPanel = new JPanel();
         buttonPanel.add(closeButton);
@@ -708,60 +689,9 @@ public class BillingSystem extends JFrame {
         paymentDialog.setVisible(true);
     }
 
-    private ImageIcon loadFoodImage(String imageName, String foodName) {
-        if (imageName == null || imageName.trim().isEmpty()) {
-            return createPlaceholderIcon(foodName);
-        }
-        
-        String cleanName = imageName.trim();
-        if (cleanName.contains("/")) {
-            cleanName = cleanName.substring(cleanName.lastIndexOf("/") + 1);
-        }
-        if (cleanName.contains("\\")) {
-            cleanName = cleanName.substring(cleanName.lastIndexOf("\\") + 1);
-        }
-        
-        URL imageUrl = getClass().getClassLoader().getResource("images/" + cleanName);
-        if (imageUrl == null) {
-            return createPlaceholderIcon(foodName);
-        }
-        
-        ImageIcon originalIcon = new ImageIcon(imageUrl);
-        if (originalIcon.getIconWidth() <= 0) {
-            return createPlaceholderIcon(foodName);
-        }
-        
-        return originalIcon;
-    }
-
-    private ImageIcon createPlaceholderIcon(String foodName) {
-        int width = 70;
-        int height = 70;
-        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g = image.createGraphics();
-        
-        g.setColor(new Color(240, 240, 240));
-        g.fillRect(0, 0, width, height);
-        
-        g.setColor(Color.DARK_GRAY);
-        g.setFont(new Font("SansSerif", Font.BOLD, 10));
-        
-        String[] lines = {
-            "Image Not",
-            "Found"
-        };
-        
-        FontMetrics fm = g.getFontMetrics();
-        int y = (height - (fm.getHeight() * lines.length)) / 2 + fm.getAscent();
-        
-        for (String line : lines) {
-            int x = (width - fm.stringWidth(line)) / 2;
-            g.drawString(line, x, y);
-            y += fm.getHeight();
-        }
-        
-        g.dispose();
-        return new ImageIcon(image);
+    private ImageIcon createPlaceholderIcon() {
+        return RenderCache.placeholder(BillingMenuRenderer.THUMB_SIZE, BillingMenuRenderer.THUMB_SIZE,
+            PLACEHOLDER_FONT, Color.DARK_GRAY, "Image Not", "Found");
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,104 @@
+package com.restaurant.restaurantpremium;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The order being built: one line per dish, in the order dishes were first added. Lines are
+// found by food id, so adding one more of a dish doesn't scan the cart (only dropping a whole
+// line shifts the ones after it), and the subtotal and item count are kept up to date as the
+// cart changes rather than summed. Lines are immutable, so a copy of getLines() is a safe
+// snapshot. Not thread-safe; OrderService guards each session's cart.
+public class Cart {
+    private final List<CartLine> lines = new ArrayList<>();
+    // Food id to position in lines
+    private final Map<Integer, Integer> byFoodId = new HashMap<>();
+    private long subtotal;
+    // Sum of the per-line rounded GST, used with GstRounding.PER_LINE
+    private long lineGst;
+    private int itemCount;
+
+    public void add(FoodItem item) {
+        Integer index = byFoodId.get(item.getId());
+        CartLine line;
+        if (index == null) {
+            line = new CartLine(item, 1);
+            byFoodId.put(item.getId(), lines.size());
+            lines.add(line);
+        } else {
+            CartLine previous = lines.get(index);
+            lineGst -= previous.getLineGst();
+            line = previous.withQuantity(previous.getQuantity() + 1);
+            lines.set(index, line);
+        }
+        lineGst += line.getLineGst();
+        subtotal += line.getUnitPaise();
+        itemCount++;
+    }
+
+    // Takes one of the dish away, dropping the line when it was the last one. Returns whether
+    // the dish was in the cart.
+    public boolean removeOne(int foodId) {
+        Integer index = byFoodId.get(foodId);
+        if (index == null) {
+            return false;
+        }
+        CartLine line = lines.get(index);
+        subtotal -= line.getUnitPaise();
+        lineGst -= line.getLineGst();
+        itemCount--;
+        if (line.getQuantity() > 1) {
+            CartLine fewer = line.withQuantity(line.getQuantity() - 1);
+            lines.set(index, fewer);
+            lineGst += fewer.getLineGst();
+            return true;
+        }
+        lines.remove((int) index);
+        byFoodId.remove(foodId);
+        for (int i = index; i < lines.size(); i++) {
+            byFoodId.put(lines.get(i).getFoodId(), i);
+        }
+        return true;
+    }
+
+    public void clear() {
+        lines.clear();
+        byFoodId.clear();
+        subtotal = 0;
+        lineGst = 0;
+        itemCount = 0;
+    }
+
+    public CartLine findByFoodId(int foodId) {
+        Integer index = byFoodId.get(foodId);
+        return index == null ? null : lines.get(index);
+    }
+
+    public List<CartLine> getLines() {
+        return Collections.unmodifiableList(lines);
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    // In paise, as are the GST and total
+    public long getSubtotal() {
+        return subtotal;
+    }
+
+    public long getGst() {
+        return Money.GST_ROUNDING == Money.GstRounding.PER_LINE ? lineGst : Money.gst(subtotal);
+    }
+
+    public long getTotal() {
+        return subtotal + getGst();
+    }
+
+    // Number of dishes, counting quantities
+    public int getItemCount() {
+        return itemCount;
+    }
+}
@@ -0,0 +1,43 @@
+package com.restaurant.restaurantpremium;
+
+// One dish in the cart and how many of it. The FoodItem is the menu snapshot it was added
+// from, so a price change mid-order doesn't reprice lines already in the cart. Immutable;
+// Cart replaces a line when its quantity changes. Amounts are in paise (see Money).
+public class CartLine {
+    private final FoodItem item;
+    private final long unitPaise;
+    private final int quantity;
+
+    CartLine(FoodItem item, int quantity) {
+        this(item, Money.ofRupees(item.getPrice()), quantity);
+    }
+
+    private CartLine(FoodItem item, long unitPaise, int quantity) {
+        this.item = item;
+        this.unitPaise = unitPaise;
+        this.quantity = quantity;
+    }
+
+    public FoodItem getItem() { return item; }
+    public int getFoodId() { return item.getId(); }
+    public String getName() { return item.getName(); }
+    public long getUnitPaise() { return unitPaise; }
+    public int getQuantity() { return quantity; }
+
+    // "Dal Makhani" or "Dal Makhani x 3"
+    public String getLabel() {
+        return quantity == 1 ? item.getName() : item.getName() + " x " + quantity;
+    }
+
+    public long getLineTotal() {
+        return unitPaise * quantity;
+    }
+
+    public long getLineGst() {
+        return Money.gst(getLineTotal());
+    }
+
+    CartLine withQuantity(int quantity) {
+        return new CartLine(item, unitPaise, quantity);
+    }
+}
@@ -0,0 +1,33 @@
+package com.restaurant.restaurantpremium;
+
+import javax.swing.*;
+import java.util.List;
+
+// Shows the lines of the latest OrderService quote in a JList. EDT only.
+public class CartListModel extends AbstractListModel<CartLine> {
+    private List<CartLine> lines = List.of();
+
+    public void show(OrderService.Quote quote) {
+        int before = lines.size();
+        lines = quote.getLines();
+        int after = lines.size();
+        if (after < before) {
+            fireIntervalRemoved(this, after, before - 1);
+        } else if (after > before) {
+            fireIntervalAdded(this, before, after - 1);
+        }
+        if (Math.min(before, after) > 0) {
+            fireContentsChanged(this, 0, Math.min(before, after) - 1);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return lines.size();
+    }
+
+    @Override
+    public CartLine getElementAt(int index) {
+        return lines.get(index);
+    }
+}
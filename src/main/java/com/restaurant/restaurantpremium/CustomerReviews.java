@@ -7,6 +7,7 @@ import java.awt.event.*;
 import java.sql.*;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 
 public class CustomerReviews extends JFrame {
     // Components
@@ -194,12 +195,9 @@ public class CustomerReviews extends JFrame {
 
     private void loadFoodItems() {
         foodCombo.removeAllItems();
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT name FROM food_items ORDER BY name")) {
-
-            while (rs.next()) {
-                foodCombo.addItem(rs.getString("name"));
+        try {
+            for (FoodItem item : MenuCatalog.getInstance().getItems()) {
+                foodCombo.addItem(item.getName());
             }
         } catch (SQLException e) {
             showError("Error loading food items: " + e.getMessage());
@@ -307,7 +305,7 @@ public class CustomerReviews extends JFrame {
 
         try (Connection conn = DBConnection.getConnection()) {
             String selectedFood = (String) foodCombo.getSelectedItem();
-            int foodId = getFoodId(selectedFood, conn);
+            int foodId = getFoodId(selectedFood);
 
             if (foodId == -1) {
                 showError("Selected food item not found");
@@ -323,18 +321,44 @@ public class CustomerReviews extends JFrame {
                 }
             }
 
-            PreparedStatement pstmt = conn.prepareStatement(
-                "INSERT INTO reviews (food_id, customer_name, rating, comment) " +
-                "VALUES (?, ?, ?, ?)");
+            int rowsAffected;
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO reviews (food_id, customer_name, rating, comment) " +
+                    "VALUES (?, ?, ?, ?)");
+
+                pstmt.setInt(1, foodId);
+                pstmt.setString(2, nameField.getText().trim());
+                pstmt.setInt(3, selectedRating);
+                pstmt.setString(4, commentArea.getText().trim());
 
-            pstmt.setInt(1, foodId);
-            pstmt.setString(2, nameField.getText().trim());
-            pstmt.setInt(3, selectedRating);
-            pstmt.setString(4, commentArea.getText().trim());
+                rowsAffected = pstmt.executeUpdate();
 
-            int rowsAffected = pstmt.executeUpdate();
+                if (rowsAffected > 0) {
+                    updateRatingAggregates(conn, foodId, selectedRating);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
             if (rowsAffected > 0) {
+                // After the commit, so reviews don't hold the menu version lock while they run
+                try {
+                    MenuChangeLog.recordCommitted(conn, foodId, MenuChangeLog.UPSERT);
+                } catch (SQLException e) {
+                    // The review is saved; other terminals pick up the rating on their next reload
+                    System.err.println("Could not log rating change for food " + foodId + ": " + e.getMessage());
+                }
+                ReviewPager.invalidate(foodId);
+                // Refresh the cached item so the menu shows the new rating straight away
+                for (FoodItem updated : MenuLoader.loadItems(conn, List.of(foodId))) {
+                    MenuCatalog.getInstance().put(updated);
+                }
                 nameField.setText("");
                 commentArea.setText("");
                 ratingButtons[4].setSelected(true); // Reset to 5 stars
@@ -346,16 +370,26 @@ public class CustomerReviews extends JFrame {
         }
     }
 
-    private int getFoodId(String foodName, Connection conn) throws SQLException {
+    // Keeps food_items.rating_count/rating_sum/rating_N in step with the reviews table, so the
+    // menu never has to aggregate reviews. MySQL applies the SET list left to right, so
+    // avg_rating sees the new sum and count.
+    private void updateRatingAggregates(Connection conn, int foodId, int rating) throws SQLException {
+        String histogramColumn = "rating_" + rating;
         try (PreparedStatement pstmt = conn.prepareStatement(
-            "SELECT id FROM food_items WHERE name = ?")) {
-            pstmt.setString(1, foodName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                return rs.next() ? rs.getInt("id") : -1;
-            }
+            "UPDATE food_items SET rating_count = rating_count + 1, rating_sum = rating_sum + ?, " +
+            histogramColumn + " = " + histogramColumn + " + 1, " +
+            "avg_rating = rating_sum / rating_count WHERE id = ?")) {
+            pstmt.setInt(1, rating);
+            pstmt.setInt(2, foodId);
+            pstmt.executeUpdate();
         }
     }
 
+    private int getFoodId(String foodName) throws SQLException {
+        FoodItem item = MenuCatalog.getInstance().findByName(foodName);
+        return item != null ? item.getId() : -1;
+    }
+
     private void showError(String message) {
         JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
     }
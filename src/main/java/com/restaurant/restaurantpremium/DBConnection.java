@@ -1,20 +1,44 @@
 package com.restaurant.restaurantpremium;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/premium_restaurant";
+    private static final String URL = "jdbc:mysql://localhost:3306/premium_restaurant?useServerPrepStmts=true";
     private static final String USER = "root";
     private static final String PASS = "Abhishek@6";
-    
+
+    // Pool settings
+    private static final int POOL_SIZE = 10;
+    private static final long MAX_WAIT_MILLIS = 5_000;
+    private static final long IDLE_TIMEOUT_MILLIS = 5 * 60_000;
+    private static final long LEAK_THRESHOLD_MILLIS = 60_000;
+    private static final int STATEMENT_CACHE_SIZE = 32;
+
+    private static volatile ConnectionPool pool;
+
     public static Connection getConnection() throws SQLException {
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            return DriverManager.getConnection(URL, USER, PASS);
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("MySQL Driver not found", e);
+        return getPool().getConnection();
+    }
+
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DBConnection.class) {
+                if (pool == null) {
+                    try {
+                        Class.forName("com.mysql.cj.jdbc.Driver");
+                    } catch (ClassNotFoundException e) {
+                        throw new SQLException("MySQL Driver not found", e);
+                    }
+                    ConnectionPool created = new ConnectionPool(URL, USER, PASS, POOL_SIZE,
+                        MAX_WAIT_MILLIS, IDLE_TIMEOUT_MILLIS, LEAK_THRESHOLD_MILLIS, STATEMENT_CACHE_SIZE);
+                    Runtime.getRuntime().addShutdownHook(new Thread(created::close, "db-pool-shutdown"));
+                    pool = created;
+                }
+                p = pool;
+            }
         }
+        return p;
     }
-}
\ No newline at end of file
+}
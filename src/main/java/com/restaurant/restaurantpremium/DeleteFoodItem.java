@@ -45,20 +45,8 @@ public class DeleteFoodItem extends JFrame {
     
     private void loadMenuItems() {
         foodItems.clear();
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT id, name, description, price FROM food_items ORDER BY name")) {
-            
-            while (rs.next()) {
-                FoodItem item = new FoodItem(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("description"),
-                    rs.getDouble("price"),
-                    null, null, 0, null, false
-                );
-                foodItems.add(item);
-            }
+        try {
+            foodItems.addAll(MenuCatalog.getInstance().getItems());
         } catch (SQLException e) {
             showError("Error loading menu items: " + e.getMessage());
         }
@@ -74,12 +62,10 @@ public class DeleteFoodItem extends JFrame {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                GradientPaint gradient = new GradientPaint(
-                    0, 0, primaryColor, 
-                    getWidth(), 0, new Color(60, 62, 73));
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
+                RenderCache.draw(g, getWidth(), getHeight(), (g2d, width, height) -> {
+                    g2d.setPaint(new GradientPaint(0, 0, primaryColor, width, 0, new Color(60, 62, 73)));
+                    g2d.fillRect(0, 0, width, height);
+                }, "delete-header", primaryColor);
             }
         };
         headerPanel.setPreferredSize(new Dimension(getWidth(), 70));
@@ -95,14 +81,15 @@ public class DeleteFoodItem extends JFrame {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g2d.setColor(new Color(245, 245, 245));
-                for (int y = 0; y < getHeight(); y += 20) {
-                    for (int x = 0; x < getWidth(); x += 20) {
-                        g2d.fillOval(x, y, 2, 2);
+                RenderCache.draw(g, getWidth(), getHeight(), (g2d, width, height) -> {
+                    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    g2d.setColor(new Color(245, 245, 245));
+                    for (int y = 0; y < height; y += 20) {
+                        for (int x = 0; x < width; x += 20) {
+                            g2d.fillOval(x, y, 2, 2);
+                        }
                     }
-                }
+                }, "delete-dots");
             }
         };
         formPanel.setLayout(new GridBagLayout());
@@ -226,20 +213,32 @@ public class DeleteFoodItem extends JFrame {
             try {
                 String sql = "DELETE FROM food_items WHERE id = ?";
                 
-                try (Connection conn = DBConnection.getConnection();
-                     PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                    
-                    pstmt.setInt(1, selectedItem.getId());
-                    int rowsAffected = pstmt.executeUpdate();
-                    
-                    if (rowsAffected > 0) {
-                        showSuccess("Item deleted successfully!");
-                        foodItems.remove(selectedIndex);
-                        populateItemComboBox();
-                    } else {
-                        showError("Item could not be deleted");
+                int rowsAffected;
+                try (Connection conn = DBConnection.getConnection()) {
+                    conn.setAutoCommit(false);
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        pstmt.setInt(1, selectedItem.getId());
+                        rowsAffected = pstmt.executeUpdate();
+                        if (rowsAffected > 0) {
+                            MenuChangeLog.record(conn, selectedItem.getId(), MenuChangeLog.DELETE);
+                        }
+                        conn.commit();
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    } finally {
+                        conn.setAutoCommit(true);
                     }
                 }
+
+                if (rowsAffected > 0) {
+                    MenuCatalog.getInstance().remove(selectedItem.getId());
+                    showSuccess("Item deleted successfully!");
+                    foodItems.remove(selectedIndex);
+                    populateItemComboBox();
+                } else {
+                    showError("Item could not be deleted");
+                }
             } catch (SQLException e) {
                 showError("Error deleting item: " + e.getMessage());
             }
@@ -314,41 +313,4 @@ public class DeleteFoodItem extends JFrame {
             return this;
         }
     }
-    
-    // Simple FoodItem class for holding data
-    private static class FoodItem {
-        private int id;
-        private String name;
-        private String description;
-        private double price;
-        private String category;
-        private String imagePath;
-        private double rating;
-        private String offer;
-        private boolean isSpecial;
-        
-        public FoodItem(int id, String name, String description, double price, 
-                       String category, String imagePath, double rating, 
-                       String offer, boolean isSpecial) {
-            this.id = id;
-            this.name = name;
-            this.description = description;
-            this.price = price;
-            this.category = category;
-            this.imagePath = imagePath;
-            this.rating = rating;
-            this.offer = offer;
-            this.isSpecial = isSpecial;
-        }
-        
-        public int getId() { return id; }
-        public String getName() { return name; }
-        public String getDescription() { return description; }
-        public double getPrice() { return price; }
-        public String getCategory() { return category; }
-        public String getImagePath() { return imagePath; }
-        public double getRating() { return rating; }
-        public String getOffer() { return offer; }
-        public boolean isSpecial() { return isSpecial; }
-    }
 }
\ No newline at end of file
@@ -1,25 +1,34 @@
 package com.restaurant.restaurantpremium;
 
-import java.util.ArrayList;
 import java.util.List;
 
+// Immutable snapshot of a menu row; MenuCatalog shares instances between screens
 public class FoodItem {
-    private int id;
-    private String name;
-    private String description;
-    private double price;
-    private String category;
-    private String imagePath;
-    private double avgRating;  // Corrected field name
-    private boolean isSpecial;
-    private double originalPrice;
-    private double discountPercentage;
-    private List<String> reviews = new ArrayList<>();
+    private final int id;
+    private final String name;
+    private final String description;
+    private final double price;
+    private final String category;
+    private final String imagePath;
+    private final double avgRating;  // Corrected field name
+    private final boolean isSpecial;
+    private final double originalPrice;
+    private final double discountPercentage;
+    private final List<String> reviews;
+    private final int reviewCount;
 
     // Constructor
     public FoodItem(int id, String name, String description, double price, String category,
                     String imagePath, double avgRating, boolean isSpecial,
                     double originalPrice, double discountPercentage) {
+        this(id, name, description, price, category, imagePath, avgRating, isSpecial,
+             originalPrice, discountPercentage, List.of(), 0);
+    }
+
+    public FoodItem(int id, String name, String description, double price, String category,
+                    String imagePath, double avgRating, boolean isSpecial,
+                    double originalPrice, double discountPercentage,
+                    List<String> reviews, int reviewCount) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -30,6 +39,8 @@ public class FoodItem {
         this.isSpecial = isSpecial;
         this.originalPrice = originalPrice;
         this.discountPercentage = discountPercentage;
+        this.reviews = List.copyOf(reviews);
+        this.reviewCount = Math.max(reviewCount, this.reviews.size());
     }
 
     // Getters
@@ -42,11 +53,8 @@ public class FoodItem {
     public double getAvgRating() { return avgRating; }  // Fixed method name
     public boolean isSpecial() { return isSpecial; }
     public List<String> getReviews() { return reviews; }
+    // Total reviews in the database; getReviews() may only hold the newest few
+    public int getReviewCount() { return reviewCount; }
     public double getOriginalPrice() { return originalPrice; }  // Fixed implementation
     public double getDiscountPercentage() { return discountPercentage; }  // Fixed implementation
-
-    // Add a review
-    public void addReview(String review) {
-        reviews.add(review);
-    }
 }
@@ -6,6 +6,14 @@ import java.awt.event.*;
 import java.awt.geom.RoundRectangle2D;
 
 public class Home extends JFrame {
+    private static final Font BUTTON_FONT = new Font("Segoe UI", Font.BOLD, 14);
+    private static final RenderCache.ButtonStyle NAV_STYLE = new RenderCache.ButtonStyle(
+        new Color(0, 100, 0), new Color(0, 100, 0).darker(), new Color(0, 100, 0).darker(), Color.WHITE, BUTTON_FONT, 25);
+    private static final RenderCache.ButtonStyle LOGOUT_STYLE = new RenderCache.ButtonStyle(
+        new Color(200, 0, 0), new Color(200, 0, 0).darker(), new Color(200, 0, 0).darker(), Color.WHITE, BUTTON_FONT, 25);
+    private static final Color CLOSE_COLOR = new Color(220, 20, 60);
+    private static final Color CLOSE_HOVER_COLOR = new Color(200, 0, 0);
+
     private boolean isAdmin;
 
     public Home(boolean isAdmin) {
@@ -25,14 +33,10 @@ public class Home extends JFrame {
         layeredPane.setPreferredSize(new Dimension(1200, 800));
 
         // Background image
-        try {
-            ImageIcon bgIcon = new ImageIcon(getClass().getResource("/images/background.jpg"));
-            JLabel backgroundLabel = new JLabel(bgIcon);
-            backgroundLabel.setBounds(0, 0, 1200, 800);
-            layeredPane.add(backgroundLabel, JLayeredPane.DEFAULT_LAYER);
-        } catch (Exception e) {
-            layeredPane.setBackground(new Color(240, 240, 240));
-        }
+        BackgroundPanel background = BackgroundPanel.image("home",
+            getClass().getResource("/images/background.jpg"), new Color(240, 240, 240));
+        background.setBounds(0, 0, 1200, 800);
+        layeredPane.add(background, JLayeredPane.DEFAULT_LAYER);
 
         // Close button
         JButton closeButton = createCloseButton();
@@ -78,20 +82,7 @@ public class Home extends JFrame {
         JButton logoutButton = new JButton("LOGOUT") {
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                Color baseColor = new Color(200, 0, 0);
-                g2.setColor(getModel().isRollover() ? baseColor.darker() : baseColor);
-                g2.fillRoundRect(0, 0, getWidth(), getHeight(), 25, 25);
-
-                g2.setColor(Color.WHITE);
-                g2.setFont(new Font("Segoe UI", Font.BOLD, 14));
-                FontMetrics fm = g2.getFontMetrics();
-                int x = (getWidth() - fm.stringWidth(getText())) / 2;
-                int y = ((getHeight() - fm.getHeight()) / 2) + fm.getAscent();
-                g2.drawString(getText(), x, y);
-                g2.dispose();
+                RenderCache.paintButton(g, this, LOGOUT_STYLE);
             }
         };
         logoutButton.setPreferredSize(new Dimension(150, 60));
@@ -112,20 +103,7 @@ public class Home extends JFrame {
         JButton button = new JButton(text) {
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                Color baseColor = new Color(0, 100, 0);
-                g2.setColor(getModel().isRollover() ? baseColor.darker() : baseColor);
-                g2.fillRoundRect(0, 0, getWidth(), getHeight(), 25, 25);
-
-                g2.setColor(Color.WHITE);
-                g2.setFont(new Font("Segoe UI", Font.BOLD, 14));
-                FontMetrics fm = g2.getFontMetrics();
-                int x = (getWidth() - fm.stringWidth(getText())) / 2;
-                int y = ((getHeight() - fm.getHeight()) / 2) + fm.getAscent();
-                g2.drawString(getText(), x, y);
-                g2.dispose();
+                RenderCache.paintButton(g, this, NAV_STYLE);
             }
         };
 
@@ -142,23 +120,7 @@ public class Home extends JFrame {
         JButton closeButton = new JButton() {
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                if (getModel().isRollover()) {
-                    g2.setColor(new Color(200, 0, 0));
-                } else {
-                    g2.setColor(new Color(220, 20, 60));
-                }
-                g2.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
-
-                g2.setStroke(new BasicStroke(2));
-                g2.setColor(Color.WHITE);
-                int margin = 14;
-                g2.drawLine(margin, margin, getWidth() - margin, getHeight() - margin);
-                g2.drawLine(margin, getHeight() - margin, getWidth() - margin, margin);
-
-                g2.dispose();
+                RenderCache.paintCloseButton(g, this, CLOSE_COLOR, CLOSE_HOVER_COLOR);
             }
         };
 
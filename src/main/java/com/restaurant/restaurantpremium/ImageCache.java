@@ -0,0 +1,138 @@
+package com.restaurant.restaurantpremium;
+
+import javax.swing.*;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Application-wide cache of scaled menu images, keyed by image path and target size. The
+// budget is in decoded pixel bytes (w * h * 4), so a few big card images cost as much as
+// many billing thumbnails. Least recently used images go first.
+public class ImageCache {
+    private static final long DEFAULT_MAX_BYTES = 48L * 1024 * 1024;
+
+    private static final ImageCache INSTANCE =
+        new ImageCache(Long.getLong("greenchilli.imageCacheMB", DEFAULT_MAX_BYTES >> 20) << 20);
+
+    private final long maxBytes;
+    // Access-ordered, so iteration starts at the least recently used image
+    private final Map<Key, ImageIcon> entries = new LinkedHashMap<>(64, 0.75f, true);
+    // Paths with no usable image, so they are not looked up again on every paint
+    private final Set<Key> missing = new HashSet<>();
+    private long bytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    ImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static ImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized ImageIcon get(String imagePath, int width, int height) {
+        ImageIcon icon = entries.get(new Key(imagePath, width, height));
+        if (icon != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return icon;
+    }
+
+    public synchronized void put(String imagePath, int width, int height, ImageIcon icon) {
+        Key key = new Key(imagePath, width, height);
+        missing.remove(key);
+        long size = sizeOf(icon);
+        if (size > maxBytes) {
+            return;
+        }
+        ImageIcon previous = entries.put(key, icon);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += size;
+
+        Iterator<ImageIcon> it = entries.values().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= sizeOf(it.next());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized boolean isMissing(String imagePath, int width, int height) {
+        return missing.contains(new Key(imagePath, width, height));
+    }
+
+    public synchronized void markMissing(String imagePath, int width, int height) {
+        missing.add(new Key(imagePath, width, height));
+    }
+
+    // Drops every size of the image, e.g. after the file behind it changed. Paths are compared
+    // by file name, as that is what ImageLoader resolves them by.
+    public synchronized void invalidate(String imagePath) {
+        String name = ImageLoader.fileName(imagePath);
+        entries.entrySet().removeIf(entry -> {
+            if (Objects.equals(ImageLoader.fileName(entry.getKey().path), name)) {
+                bytes -= sizeOf(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        missing.removeIf(key -> Objects.equals(ImageLoader.fileName(key.path), name));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        missing.clear();
+        bytes = 0;
+    }
+
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getSizeBytes() { return bytes; }
+    public long getMaxBytes() { return maxBytes; }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private static long sizeOf(ImageIcon icon) {
+        return 4L * Math.max(0, icon.getIconWidth()) * Math.max(0, icon.getIconHeight());
+    }
+
+    private static final class Key {
+        final String path;
+        final int width;
+        final int height;
+
+        Key(String path, int width, int height) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return width == other.width && height == other.height && Objects.equals(path, other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, width, height);
+        }
+    }
+}
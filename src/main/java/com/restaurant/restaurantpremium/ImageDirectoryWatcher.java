@@ -0,0 +1,129 @@
+package com.restaurant.restaurantpremium;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Menu images dropped into an external directory (-Dgreenchilli.imageDir, default
+// ~/.greenchilli/images) take precedence over the bundled ones, so a dish added in AddFoodItem
+// can get its picture without a rebuild. The directory is watched: a new, changed or deleted
+// file has its cached images dropped, its thumbnails rebuilt on the watcher thread, and then
+// the listeners are told on the EDT so open screens can reload just those cards.
+public class ImageDirectoryWatcher {
+    // Editors and copies often write a file in several steps; wait for it to settle
+    private static final long SETTLE_MILLIS = 300;
+
+    private static final Path DIRECTORY = Paths.get(System.getProperty("greenchilli.imageDir",
+        Paths.get(System.getProperty("user.home"), ".greenchilli", "images").toString()));
+
+    private static final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private static WatchService watcher;
+
+    public static Path getDirectory() {
+        return DIRECTORY;
+    }
+
+    // onChanged gets the file name of each image that changed; the watcher starts with the
+    // first listener
+    public static void addListener(Consumer<String> onChanged) {
+        listeners.add(onChanged);
+        start();
+    }
+
+    public static void removeListener(Consumer<String> onChanged) {
+        listeners.remove(onChanged);
+    }
+
+    public static synchronized void start() {
+        if (watcher != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(DIRECTORY);
+            watcher = FileSystems.getDefault().newWatchService();
+            DIRECTORY.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            System.err.println("Not watching " + DIRECTORY + " for images: " + e.getMessage());
+            stop();
+            return;
+        }
+        WatchService service = watcher;
+        Thread t = new Thread(() -> watch(service), "image-watch");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public static synchronized void stop() {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                System.err.println("Could not stop image watcher: " + e.getMessage());
+            }
+            watcher = null;
+        }
+    }
+
+    private static void watch(WatchService service) {
+        try {
+            while (true) {
+                Set<String> changed = new LinkedHashSet<>();
+                WatchKey key = service.take();
+                // Collect everything that arrives until the directory has been quiet for a moment
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path) {
+                            changed.add(((Path) event.context()).getFileName().toString());
+                        }
+                    }
+                    if (!key.reset()) {
+                        System.err.println("Image directory " + DIRECTORY + " is no longer accessible");
+                        return;
+                    }
+                    key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                for (String name : changed) {
+                    reload(name);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    private static void reload(String name) {
+        Path file = DIRECTORY.resolve(name);
+        try {
+            ThumbnailStore.forget(file.toUri().toURL());
+            for (int[] size : ThumbnailWarmup.SIZES) {
+                ImageLoader.loadScaled(name, size[0], size[1]);
+            }
+        } catch (IOException e) {
+            // Not an image, or not fully written yet; the screens will retry when asked
+            System.err.println("Could not decode " + file + ": " + e.getMessage());
+        }
+        // Cache puts happen on the EDT, so this also catches a load of the old file that
+        // finished while the new thumbnails were being built
+        SwingUtilities.invokeLater(() -> {
+            ImageCache.getInstance().invalidate(name);
+            for (Consumer<String> listener : listeners) {
+                listener.accept(name);
+            }
+        });
+    }
+}
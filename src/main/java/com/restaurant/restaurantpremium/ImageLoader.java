@@ -0,0 +1,163 @@
+package com.restaurant.restaurantpremium;
+
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Decodes and scales menu images on a small pool of background threads so the EDT never
+// waits on a JPEG. The newest request is served first, and when the queue is full the
+// oldest one is dropped: those belong to cards the user has already scrolled past.
+public class ImageLoader {
+    private static final int WORKERS = Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+    private static final int MAX_QUEUED = 128;
+
+    private static final ImageLoader INSTANCE = new ImageLoader();
+
+    private final LinkedBlockingDeque<Runnable> queue = new LinkedBlockingDeque<Runnable>(MAX_QUEUED) {
+        @Override
+        public boolean offer(Runnable task) {
+            return offerFirst(task);
+        }
+    };
+    private final ThreadPoolExecutor pool;
+
+    private ImageLoader() {
+        AtomicInteger threads = new AtomicInteger();
+        pool = new ThreadPoolExecutor(WORKERS, WORKERS, 30, TimeUnit.SECONDS, queue, r -> {
+            Thread t = new Thread(r, "image-loader-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        }, (task, executor) -> {
+            Runnable oldest = queue.pollLast();
+            if (oldest instanceof Request) {
+                ((Request) oldest).cancel();
+            }
+            queue.offerFirst(task);
+        });
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    public static ImageLoader getInstance() {
+        return INSTANCE;
+    }
+
+    // Maps a food_items.image_path value to the file name the image is bundled under, or null
+    public static String fileName(String imagePath) {
+        if (imagePath == null || imagePath.trim().isEmpty()) {
+            return null;
+        }
+        String cleanName = imagePath.trim();
+        if (cleanName.contains("/")) {
+            cleanName = cleanName.substring(cleanName.lastIndexOf("/") + 1);
+        }
+        if (cleanName.contains("\\")) {
+            cleanName = cleanName.substring(cleanName.lastIndexOf("\\") + 1);
+        }
+        return cleanName;
+    }
+
+    // The image in the external image directory, else the bundled one under images/ on the
+    // classpath, or null
+    public static URL resolve(String imagePath) {
+        String cleanName = fileName(imagePath);
+        if (cleanName == null) {
+            return null;
+        }
+        URL external = external(cleanName);
+        return external != null ? external : ImageLoader.class.getClassLoader().getResource("images/" + cleanName);
+    }
+
+    // The image scaled to width x height, or null. An external file wins over the image pack,
+    // which wins over the classpath.
+    public static BufferedImage loadScaled(String imagePath, int width, int height) throws IOException {
+        String cleanName = fileName(imagePath);
+        if (cleanName == null) {
+            return null;
+        }
+        URL external = external(cleanName);
+        if (external != null) {
+            return ThumbnailStore.load(external, width, height);
+        }
+        ImagePack.Entry packed = ImagePack.getInstance().get(cleanName);
+        if (packed != null) {
+            return ThumbnailStore.load(packed, width, height);
+        }
+        URL url = resolve(cleanName);
+        return url == null ? null : ThumbnailStore.load(url, width, height);
+    }
+
+    private static URL external(String cleanName) {
+        Path file = ImageDirectoryWatcher.getDirectory().resolve(cleanName);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return file.toUri().toURL();
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    // Queues a decode of the image scaled to width x height. onLoaded runs on the EDT with the
+    // image, or with null if there is no usable image; it never runs once the request is cancelled.
+    public Request load(String imagePath, int width, int height, Consumer<ImageIcon> onLoaded) {
+        Request request = new Request(imagePath, width, height, onLoaded);
+        pool.execute(request);
+        return request;
+    }
+
+    public class Request extends FutureTask<ImageIcon> {
+        private final Consumer<ImageIcon> onLoaded;
+        // Also covers a cancel that lands after the decode finished but before the EDT ran
+        private volatile boolean abandoned;
+
+        Request(String imagePath, int width, int height, Consumer<ImageIcon> onLoaded) {
+            super(() -> {
+                BufferedImage image = loadScaled(imagePath, width, height);
+                return image == null ? null : new ImageIcon(image);
+            });
+            this.onLoaded = onLoaded;
+        }
+
+        public void cancel() {
+            abandoned = true;
+            cancel(false);
+            pool.remove(this);
+        }
+
+        public boolean isAbandoned() {
+            return abandoned;
+        }
+
+        @Override
+        protected void done() {
+            if (abandoned || isCancelled()) {
+                return;
+            }
+            ImageIcon icon;
+            try {
+                icon = get();
+            } catch (Exception e) {
+                System.err.println("Could not load image: " + e.getCause());
+                icon = null;
+            }
+            ImageIcon result = icon;
+            SwingUtilities.invokeLater(() -> {
+                if (!abandoned) {
+                    onLoaded.accept(result);
+                }
+            });
+        }
+    }
+}
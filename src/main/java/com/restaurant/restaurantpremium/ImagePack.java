@@ -0,0 +1,171 @@
+package com.restaurant.restaurantpremium;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+
+// The menu images packed by ImagePacker, memory-mapped once. Lookups are a map get and the
+// bytes are handed out as read-only slices of the mapping, so nothing is copied or opened per
+// image. Layout: magic, version, entry count, index length, then per entry the name, its
+// SHA-256, offset into the data section and length, then the data section itself.
+//
+// The pack is taken from -Dgreenchilli.imagePack, else images.pack on the classpath. Inside a
+// jar it can't be mapped directly, so it is copied next to the thumbnails first. With no pack
+// every lookup misses and ImageLoader falls back to the classpath images.
+public class ImagePack {
+    static final int MAGIC = 0x4743504B; // "GCPK"
+    static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private static volatile ImagePack instance;
+
+    private final Map<String, Entry> entries;
+
+    private ImagePack(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    public static ImagePack getInstance() {
+        if (instance == null) {
+            synchronized (ImagePack.class) {
+                if (instance == null) {
+                    instance = openDefault();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // The packed image with this file name, or null
+    public Entry get(String name) {
+        return entries.get(name);
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static ImagePack open(Path file) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Image pack too large to map: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not an image pack: " + file);
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported image pack version " + data.getInt(4) + ": " + file);
+        }
+        int count = data.getInt(8);
+        int dataStart = HEADER_SIZE + data.getInt(12);
+
+        Map<String, Entry> entries = new HashMap<>(count * 2);
+        ByteBuffer index = data.slice(HEADER_SIZE, dataStart - HEADER_SIZE);
+        byte[] hash = new byte[32];
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[index.getShort() & 0xFFFF];
+            index.get(name);
+            index.get(hash);
+            long offset = index.getLong();
+            int length = index.getInt();
+            if (offset < 0 || dataStart + offset + length > data.limit()) {
+                throw new IOException("Corrupt image pack index: " + file);
+            }
+            ByteBuffer bytes = data.slice(dataStart + (int) offset, length).asReadOnlyBuffer();
+            String key = new String(name, StandardCharsets.UTF_8);
+            entries.put(key, new Entry(key, HexFormat.of().formatHex(hash), bytes));
+        }
+        return new ImagePack(entries);
+    }
+
+    private static ImagePack openDefault() {
+        try {
+            Path file = locate();
+            if (file != null) {
+                return open(file);
+            }
+        } catch (Exception e) {
+            System.err.println("Could not open image pack, using classpath images: " + e.getMessage());
+        }
+        return new ImagePack(Collections.emptyMap());
+    }
+
+    private static Path locate() throws Exception {
+        String configured = System.getProperty("greenchilli.imagePack");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        URL resource = ImagePack.class.getClassLoader().getResource("images.pack");
+        if (resource == null) {
+            return null;
+        }
+        if ("file".equals(resource.getProtocol())) {
+            return Paths.get(resource.toURI());
+        }
+
+        // Packaged in the jar: keep a copy on disk stamped with the jar entry's modification
+        // time, refreshed when the time or size differ. A repack of the same size still gets a
+        // new entry time; if the jar doesn't record one, the copy is refreshed every start.
+        Path copy = ThumbnailStore.getDirectory().resolveSibling("images.pack");
+        URLConnection connection = resource.openConnection();
+        long modified = connection.getLastModified();
+        if (!Files.exists(copy) || Files.size(copy) != connection.getContentLengthLong()
+                || modified == 0 || Files.getLastModifiedTime(copy).toMillis() != modified) {
+            Files.createDirectories(copy.getParent());
+            Path temp = Files.createTempFile(copy.getParent(), "images", ".tmp");
+            try (InputStream in = connection.getInputStream()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                if (modified != 0) {
+                    Files.setLastModifiedTime(temp, FileTime.fromMillis(modified));
+                }
+                Files.move(temp, copy, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return copy;
+    }
+
+    public static final class Entry {
+        private final String name;
+        private final String hash;
+        private final ByteBuffer bytes;
+
+        Entry(String name, String hash, ByteBuffer bytes) {
+            this.name = name;
+            this.hash = hash;
+            this.bytes = bytes;
+        }
+
+        public String getName() { return name; }
+
+        // Hex SHA-256 of the content, the same value ThumbnailStore.hash gives for the file
+        public String getHash() { return hash; }
+
+        // A fresh view each call, so callers can move its position freely
+        public ByteBuffer getBytes() { return bytes.duplicate(); }
+    }
+}
@@ -0,0 +1,111 @@
+package com.restaurant.restaurantpremium;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Build step that packs the menu images into one file read by ImagePack. Files with the same
+// content are stored once, whichever directory or name they came from; when two directories
+// have a file of the same name, the first directory wins.
+// Usage: ImagePacker <output file> <image directory>...
+public class ImagePacker {
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: ImagePacker <output file> <image directory>...");
+            System.exit(1);
+        }
+        Map<String, Path> sources = new TreeMap<>();
+        for (int i = 1; i < args.length; i++) {
+            File[] files = new File(args[i]).listFiles(File::isFile);
+            if (files == null) {
+                System.err.println("Not a directory: " + args[i]);
+                System.exit(1);
+            }
+            for (File file : files) {
+                sources.putIfAbsent(file.getName(), file.toPath());
+            }
+        }
+
+        try {
+            Path output = Paths.get(args[0]);
+            int unique = pack(sources, output);
+            System.out.printf("Packed %d images (%d unique) into %s, %d KB%n",
+                sources.size(), unique, output, Files.size(output) / 1024);
+        } catch (IOException e) {
+            System.err.println("Could not write image pack: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Returns the number of distinct blobs written
+    static int pack(Map<String, Path> sources, Path output) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        // Offsets are relative to the start of the data section, which follows the index
+        Map<String, Long> offsetsByHash = new LinkedHashMap<>();
+        List<Path> blobs = new ArrayList<>();
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream index = new DataOutputStream(indexBytes);
+        long dataSize = 0;
+        for (Map.Entry<String, Path> source : sources.entrySet()) {
+            byte[] content = Files.readAllBytes(source.getValue());
+            byte[] hash = digest.digest(content);
+            String key = HexFormat.of().formatHex(hash);
+            Long offset = offsetsByHash.get(key);
+            if (offset == null) {
+                offset = dataSize;
+                offsetsByHash.put(key, offset);
+                blobs.add(source.getValue());
+                dataSize += content.length;
+            }
+            byte[] name = source.getKey().getBytes(StandardCharsets.UTF_8);
+            index.writeShort(name.length);
+            index.write(name);
+            index.write(hash);
+            index.writeLong(offset);
+            index.writeInt(content.length);
+        }
+        index.flush();
+
+        Path parent = output.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "images", ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(file)) {
+                out.writeInt(ImagePack.MAGIC);
+                out.writeInt(ImagePack.VERSION);
+                out.writeInt(sources.size());
+                out.writeInt(indexBytes.size());
+                indexBytes.writeTo(out);
+                for (Path blob : blobs) {
+                    Files.copy(blob, out);
+                }
+            }
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return blobs.size();
+    }
+}
@@ -0,0 +1,287 @@
+package com.restaurant.restaurantpremium;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// One menu card, painted straight from a FoodItem. VirtualMenuGrid keeps a handful of these
+// and rebinds them to whichever items are currently scrolled into view.
+public class MenuCardView extends JComponent {
+    public static final int IMAGE_WIDTH = 300;
+    public static final int IMAGE_HEIGHT = 200;
+    public static final int CARD_HEIGHT = 580;
+
+    private static final int PADDING = 15;
+    private static final int BADGE_HEIGHT = 22;
+    private static final int DESCRIPTION_LINES = 3;
+
+    private static final Font BADGE_FONT = new Font("Montserrat", Font.BOLD, 12);
+    private static final Font NAME_FONT = new Font("Playfair Display", Font.BOLD, 22);
+    private static final Font DESC_FONT = new Font("Open Sans", Font.PLAIN, 15);
+    private static final Font PRICE_FONT = new Font("Montserrat", Font.BOLD, 20);
+    private static final Font OFFER_FONT = new Font("Montserrat", Font.BOLD, 14);
+    private static final Font RATING_FONT = new Font("Montserrat", Font.BOLD, 14);
+    private static final Font STAR_FONT = new Font("Arial Unicode MS", Font.PLAIN, 18);
+    private static final Font REVIEW_TITLE_FONT = new Font("Open Sans", Font.BOLD, 12);
+    private static final Font REVIEW_FONT = new Font("Open Sans", Font.ITALIC, 11);
+    private static final Font BUTTON_FONT = new Font("Open Sans", Font.PLAIN, 11);
+
+    private static final Color BORDER_COLOR = new Color(220, 220, 220);
+    private static final Color NAME_COLOR = new Color(40, 40, 40);
+    private static final Color DESC_COLOR = new Color(85, 85, 85);
+    private static final Color PRICE_COLOR = new Color(0, 100, 0);
+    private static final Color STRUCK_PRICE_COLOR = new Color(150, 150, 150);
+    private static final Color OFFER_COLOR = new Color(200, 0, 0);
+    private static final Color BADGE_COLOR = new Color(180, 40, 40);
+    private static final Color STAR_ON = new Color(255, 180, 0);
+    private static final Color STAR_OFF = new Color(200, 200, 200);
+    private static final Color MUTED_TEXT = new Color(100, 100, 100);
+    private static final Color BUTTON_COLOR = new Color(60, 60, 60);
+
+    private FoodItem item;
+    private ImageIcon image;
+
+    // Wrapped description, recomputed only when the item or width changes
+    private List<String> descLines = List.of();
+    private int wrappedWidth = -1;
+
+    private final Rectangle reviewsButton = new Rectangle();
+
+    public MenuCardView(Consumer<FoodItem> onViewAllReviews) {
+        setOpaque(true);
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (item != null && reviewsButton.contains(e.getPoint())) {
+                    onViewAllReviews.accept(item);
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setCursor(reviewsButton.contains(e.getPoint())
+                    ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR)
+                    : Cursor.getDefaultCursor());
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    public void bind(FoodItem item, ImageIcon image) {
+        if (this.item != item) {
+            this.item = item;
+            wrappedWidth = -1;
+        }
+        this.image = image;
+        repaint();
+    }
+
+    public FoodItem getItem() {
+        return item;
+    }
+
+    public void setImage(ImageIcon image) {
+        this.image = image;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (item == null) {
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        int width = getWidth();
+        int height = getHeight();
+
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, width, height);
+        g2.setColor(BORDER_COLOR);
+        g2.drawRect(0, 0, width - 1, height - 1);
+
+        int y = 1;
+        if (item.isSpecial()) {
+            g2.setColor(BADGE_COLOR);
+            g2.fillRect(1, 1, width - 2, BADGE_HEIGHT);
+            g2.setColor(Color.WHITE);
+            g2.setFont(BADGE_FONT);
+            drawCentered(g2, "CHEF'S SPECIAL", width / 2, 1 + BADGE_HEIGHT / 2);
+            y += BADGE_HEIGHT;
+        }
+
+        int left = PADDING;
+        int innerWidth = width - 2 * PADDING;
+        y += PADDING;
+
+        // Image
+        if (image != null) {
+            image.paintIcon(this, g2, (width - IMAGE_WIDTH) / 2, y);
+        }
+        y += IMAGE_HEIGHT + 15;
+
+        // Name
+        g2.setFont(NAME_FONT);
+        g2.setColor(NAME_COLOR);
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(ellipsize(item.getName(), fm, innerWidth), left, y + fm.getAscent());
+        y += fm.getHeight() + 10;
+
+        // Description
+        g2.setFont(DESC_FONT);
+        g2.setColor(DESC_COLOR);
+        fm = g2.getFontMetrics();
+        if (wrappedWidth != innerWidth) {
+            descLines = wrap(item.getDescription(), fm, innerWidth, DESCRIPTION_LINES);
+            wrappedWidth = innerWidth;
+        }
+        for (int i = 0; i < DESCRIPTION_LINES; i++) {
+            if (i < descLines.size()) {
+                g2.drawString(descLines.get(i), left, y + fm.getAscent());
+            }
+            y += fm.getHeight();
+        }
+        y += 15;
+
+        // Price and offer
+        double discount = item.getDiscountPercentage();
+        g2.setFont(PRICE_FONT);
+        fm = g2.getFontMetrics();
+        int baseline = y + fm.getAscent();
+        String original = String.format("₹%.2f", item.getOriginalPrice());
+        int x = left;
+        if (discount > 0) {
+            g2.setColor(STRUCK_PRICE_COLOR);
+            g2.drawString(original, x, baseline);
+            int strikeY = baseline - fm.getAscent() / 3;
+            g2.drawLine(x, strikeY, x + fm.stringWidth(original), strikeY);
+            x += fm.stringWidth(original + "  ");
+
+            String discounted = String.format("₹%.2f", item.getPrice());
+            g2.setColor(PRICE_COLOR);
+            g2.drawString(discounted, x, baseline);
+            x += fm.stringWidth(discounted + "  ") + 10;
+
+            g2.setFont(OFFER_FONT);
+            g2.setColor(OFFER_COLOR);
+            g2.drawString((int) discount + "% OFF", x, baseline);
+        } else {
+            g2.setColor(PRICE_COLOR);
+            g2.drawString(original, x, baseline);
+        }
+        y += fm.getHeight() + 10;
+
+        // Rating stars
+        g2.setFont(RATING_FONT);
+        g2.setColor(new Color(70, 70, 70));
+        fm = g2.getFontMetrics();
+        String rating = String.format("%.1f", item.getAvgRating());
+        baseline = y + 5 + fm.getAscent();
+        g2.drawString(rating, left, baseline);
+        x = left + fm.stringWidth(rating) + 5;
+        g2.setFont(STAR_FONT);
+        FontMetrics starFm = g2.getFontMetrics();
+        int roundedRating = (int) Math.round(item.getAvgRating());
+        for (int i = 0; i < 5; i++) {
+            String star = i < roundedRating ? "★" : "☆";
+            g2.setColor(i < roundedRating ? STAR_ON : STAR_OFF);
+            g2.drawString(star, x, baseline);
+            x += starFm.stringWidth(star) + 5;
+        }
+        y += starFm.getHeight() + 25;
+
+        // Reviews
+        reviewsButton.setBounds(0, 0, 0, 0);
+        List<String> reviews = item.getReviews();
+        if (!reviews.isEmpty()) {
+            g2.setFont(REVIEW_TITLE_FONT);
+            g2.setColor(MUTED_TEXT);
+            fm = g2.getFontMetrics();
+            g2.drawString("Customer Reviews:", left, y + fm.getAscent());
+            y += fm.getHeight() + 5;
+
+            g2.setFont(REVIEW_FONT);
+            g2.setColor(new Color(102, 102, 102));
+            fm = g2.getFontMetrics();
+            for (int i = 0; i < Math.min(2, reviews.size()); i++) {
+                String review = "• " + reviews.get(i);
+                g2.drawString(ellipsize(review, fm, innerWidth - 10), left + 10, y + 2 + fm.getAscent());
+                y += fm.getHeight() + 4;
+            }
+
+            if (item.getReviewCount() > 2) {
+                y += 8;
+                g2.setFont(BUTTON_FONT);
+                fm = g2.getFontMetrics();
+                String label = "View All Reviews (" + item.getReviewCount() + ")";
+                reviewsButton.setBounds(left, y, fm.stringWidth(label) + 30, fm.getHeight() + 6);
+                g2.setColor(BUTTON_COLOR);
+                g2.fillRect(reviewsButton.x, reviewsButton.y, reviewsButton.width, reviewsButton.height);
+                g2.setColor(MUTED_TEXT);
+                g2.drawRect(reviewsButton.x, reviewsButton.y, reviewsButton.width - 1, reviewsButton.height - 1);
+                g2.setColor(Color.WHITE);
+                g2.drawString(label, reviewsButton.x + 15, reviewsButton.y + 3 + fm.getAscent());
+            }
+        }
+
+        g2.dispose();
+    }
+
+    private static void drawCentered(Graphics2D g2, String text, int centerX, int centerY) {
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(text, centerX - fm.stringWidth(text) / 2,
+                      centerY - fm.getHeight() / 2 + fm.getAscent());
+    }
+
+    private static String ellipsize(String text, FontMetrics fm, int width) {
+        if (text == null) {
+            return "";
+        }
+        if (fm.stringWidth(text) <= width) {
+            return text;
+        }
+        int end = text.length();
+        while (end > 0 && fm.stringWidth(text.substring(0, end) + "…") > width) {
+            end--;
+        }
+        return text.substring(0, end) + "…";
+    }
+
+    private static List<String> wrap(String text, FontMetrics fm, int width, int maxLines) {
+        List<String> lines = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return lines;
+        }
+        StringBuilder line = new StringBuilder();
+        String[] words = text.trim().split("\\s+");
+        for (int i = 0; i < words.length; i++) {
+            String candidate = line.length() == 0 ? words[i] : line + " " + words[i];
+            if (fm.stringWidth(candidate) <= width || line.length() == 0) {
+                line.setLength(0);
+                line.append(candidate);
+                continue;
+            }
+            if (lines.size() == maxLines - 1) {
+                // Last allowed line: squeeze the remainder in with an ellipsis
+                StringBuilder rest = new StringBuilder(line);
+                for (int j = i; j < words.length; j++) {
+                    rest.append(' ').append(words[j]);
+                }
+                lines.add(ellipsize(rest.toString(), fm, width));
+                return lines;
+            }
+            lines.add(line.toString());
+            line.setLength(0);
+            line.append(words[i]);
+        }
+        if (line.length() > 0) {
+            lines.add(ellipsize(line.toString(), fm, width));
+        }
+        return lines;
+    }
+}
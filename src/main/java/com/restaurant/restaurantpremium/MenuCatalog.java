@@ -0,0 +1,259 @@
+package com.restaurant.restaurantpremium;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+// Process-wide, in-memory copy of food_items. Readers get an immutable snapshot without
+// locking; writers build a new snapshot and swap it in.
+public class MenuCatalog {
+    private static final MenuCatalog INSTANCE = new MenuCatalog();
+
+    private static final Comparator<FoodItem> BY_NAME =
+        Comparator.comparing(FoodItem::getName, String.CASE_INSENSITIVE_ORDER)
+                  .thenComparingInt(FoodItem::getId);
+    // Queued after the last batch of a streamed load
+    private static final List<FoodItem> END_OF_LOAD = new ArrayList<>();
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final Object loadLock = new Object();
+
+    private MenuCatalog() {
+    }
+
+    public static MenuCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    // All items, ordered by name
+    public List<FoodItem> getItems() throws SQLException {
+        return current().items;
+    }
+
+    public FoodItem findById(int id) throws SQLException {
+        return current().byId.get(id);
+    }
+
+    public FoodItem findByName(String name) throws SQLException {
+        return name == null ? null : current().byName.get(name);
+    }
+
+    public List<FoodItem> findByCategory(String category) throws SQLException {
+        return current().byCategory.getOrDefault(category, List.of());
+    }
+
+    public List<String> getCategories() throws SQLException {
+        return new ArrayList<>(current().byCategory.keySet());
+    }
+
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    // menu_changes version this catalog has caught up to
+    public long getVersion() {
+        Snapshot s = snapshot.get();
+        return s == null ? 0 : s.version;
+    }
+
+    public void reload() throws SQLException {
+        synchronized (loadLock) {
+            try (Connection conn = DBConnection.getConnection()) {
+                // Read the version first; changes racing with the load are replayed by the poller
+                long version = MenuChangeLog.currentVersion(conn);
+                snapshot.set(new Snapshot(MenuLoader.loadMenu(conn), version));
+            }
+        }
+        MenuSyncPoller.start();
+    }
+
+    // Hands the menu to the sink in batches of up to batchSize items. On a cold catalog the
+    // batches come straight off the database cursor, so the first ones arrive before the
+    // whole menu has been read; the catalog is filled in as a side effect.
+    public void streamItems(int batchSize, Consumer<List<FoodItem>> sink) throws SQLException {
+        Snapshot s = snapshot.get();
+        if (s == null) {
+            streamLoad(batchSize, sink);
+            return;
+        }
+        emit(s.items, batchSize, sink);
+    }
+
+    // The load runs on its own thread, holding loadLock and the cursor, and queues the batches;
+    // the sink runs on the caller's thread, so a slow sink neither keeps the cursor open nor
+    // holds up other loads
+    private void streamLoad(int batchSize, Consumer<List<FoodItem>> sink) throws SQLException {
+        BlockingQueue<List<FoodItem>> batches = new LinkedBlockingQueue<>();
+        SQLException[] failure = new SQLException[1];
+        Thread loader = new Thread(() -> {
+            try {
+                load(batchSize, batches::add);
+            } catch (SQLException e) {
+                failure[0] = e;
+            } finally {
+                batches.add(END_OF_LOAD);
+            }
+        }, "menu-load");
+        loader.setDaemon(true);
+        loader.start();
+        try {
+            for (List<FoodItem> batch = batches.take(); batch != END_OF_LOAD; batch = batches.take()) {
+                sink.accept(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while loading the menu", e);
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    private void load(int batchSize, Consumer<List<FoodItem>> out) throws SQLException {
+        synchronized (loadLock) {
+            // Another caller may have loaded the menu while this one was starting
+            Snapshot s = snapshot.get();
+            if (s != null) {
+                emit(s.items, batchSize, out);
+                return;
+            }
+            List<FoodItem> all = new ArrayList<>();
+            List<FoodItem> batch = new ArrayList<>(batchSize);
+            try (Connection conn = DBConnection.getConnection()) {
+                long version = MenuChangeLog.currentVersion(conn);
+                MenuLoader.streamMenu(conn, 0, item -> {
+                    all.add(item);
+                    batch.add(item);
+                    if (batch.size() == batchSize) {
+                        out.accept(List.copyOf(batch));
+                        batch.clear();
+                    }
+                });
+                if (!batch.isEmpty()) {
+                    out.accept(List.copyOf(batch));
+                }
+                snapshot.set(new Snapshot(all, version));
+            }
+        }
+        MenuSyncPoller.start();
+    }
+
+    private static void emit(List<FoodItem> items, int batchSize, Consumer<List<FoodItem>> sink) {
+        for (int i = 0; i < items.size(); i += batchSize) {
+            sink.accept(items.subList(i, Math.min(i + batchSize, items.size())));
+        }
+    }
+
+    // Applies changes read from menu_changes, unless a reload replaced the snapshot meanwhile
+    public void applyDelta(Collection<FoodItem> upserts, Collection<Integer> deletes,
+                           long fromVersion, long toVersion) {
+        snapshot.updateAndGet(s -> {
+            if (s == null || s.version != fromVersion) {
+                return s;
+            }
+            return s.patch(upserts, deletes, toVersion);
+        });
+    }
+
+    // Adds the item, or replaces the one with the same id
+    public void put(FoodItem item) {
+        update(s -> s.with(item));
+    }
+
+    public void remove(int id) {
+        update(s -> s.without(id));
+    }
+
+    private void update(UnaryOperator<Snapshot> change) {
+        // Nothing to patch before the first load; the load will pick the change up
+        snapshot.updateAndGet(s -> s == null ? null : change.apply(s));
+    }
+
+    private Snapshot current() throws SQLException {
+        Snapshot s = snapshot.get();
+        if (s == null) {
+            synchronized (loadLock) {
+                s = snapshot.get();
+                if (s == null) {
+                    reload();
+                    s = snapshot.get();
+                }
+            }
+        }
+        return s;
+    }
+
+    private static final class Snapshot {
+        final long version;
+        final List<FoodItem> items;
+        final Map<Integer, FoodItem> byId;
+        final Map<String, FoodItem> byName;
+        final Map<String, List<FoodItem>> byCategory;
+
+        Snapshot(List<FoodItem> source, long version) {
+            this.version = version;
+            List<FoodItem> sorted = new ArrayList<>(source);
+            sorted.sort(BY_NAME);
+
+            Map<Integer, FoodItem> ids = new HashMap<>();
+            Map<String, FoodItem> names = new HashMap<>();
+            Map<String, List<FoodItem>> categories = new LinkedHashMap<>();
+            for (FoodItem item : sorted) {
+                ids.put(item.getId(), item);
+                names.putIfAbsent(item.getName(), item);
+                String category = item.getCategory() == null ? "" : item.getCategory();
+                categories.computeIfAbsent(category, k -> new ArrayList<>()).add(item);
+            }
+            categories.replaceAll((k, v) -> Collections.unmodifiableList(v));
+
+            this.items = Collections.unmodifiableList(sorted);
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byName = Collections.unmodifiableMap(names);
+            this.byCategory = Collections.unmodifiableMap(categories);
+        }
+
+        Snapshot with(FoodItem item) {
+            List<FoodItem> next = new ArrayList<>(items.size() + 1);
+            for (FoodItem existing : items) {
+                if (existing.getId() != item.getId()) {
+                    next.add(existing);
+                }
+            }
+            next.add(item);
+            return new Snapshot(next, version);
+        }
+
+        Snapshot without(int id) {
+            if (!byId.containsKey(id)) {
+                return this;
+            }
+            List<FoodItem> next = new ArrayList<>(items);
+            next.removeIf(existing -> existing.getId() == id);
+            return new Snapshot(next, version);
+        }
+
+        // One rebuild for a whole batch of changes
+        Snapshot patch(Collection<FoodItem> upserts, Collection<Integer> deletes, long newVersion) {
+            Map<Integer, FoodItem> next = new LinkedHashMap<>(byId);
+            for (int id : deletes) {
+                next.remove(id);
+            }
+            for (FoodItem item : upserts) {
+                next.put(item.getId(), item);
+            }
+            return new Snapshot(new ArrayList<>(next.values()), newVersion);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.restaurant.restaurantpremium;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Append-only log of food_items changes (the menu_changes table). Every terminal that edits the
+// menu writes a row in the same transaction, and MenuSyncPoller replays rows newer than the
+// version its catalog was built from.
+//
+// Versions come from the single menu_version row, locked until the writing transaction ends,
+// rather than from AUTO_INCREMENT. An auto-increment id is taken at insert, so a later version
+// could commit first and a poll would move past the earlier one for good. With the row lock,
+// menu edits commit one at a time in version order.
+public class MenuChangeLog {
+    public static final char UPSERT = 'U';
+    public static final char DELETE = 'D';
+
+    public static class Change {
+        private final long version;
+        private final int foodId;
+        private final char op;
+
+        Change(long version, int foodId, char op) {
+            this.version = version;
+            this.foodId = foodId;
+            this.op = op;
+        }
+
+        public long getVersion() { return version; }
+        public int getFoodId() { return foodId; }
+        public char getOp() { return op; }
+    }
+
+    // Must run inside the transaction that makes the change
+    public static void record(Connection conn, int foodId, char op) throws SQLException {
+        long version;
+        try (PreparedStatement select = conn.prepareStatement(
+            "SELECT version FROM menu_version WHERE id = 1 FOR UPDATE");
+             ResultSet rs = select.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("menu_version has no row");
+            }
+            version = rs.getLong(1) + 1;
+        }
+        try (PreparedStatement update = conn.prepareStatement(
+            "UPDATE menu_version SET version = ? WHERE id = 1")) {
+            update.setLong(1, version);
+            update.executeUpdate();
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(
+            "INSERT INTO menu_changes (version, food_id, op) VALUES (?, ?, ?)")) {
+            pstmt.setLong(1, version);
+            pstmt.setInt(2, foodId);
+            pstmt.setString(3, String.valueOf(op));
+            pstmt.executeUpdate();
+        }
+    }
+
+    // Records a change that has already been committed, in a short transaction of its own. For
+    // changes such as review ratings, whose transactions shouldn't queue on the version lock.
+    public static void recordCommitted(Connection conn, int foodId, char op) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            record(conn, foodId, op);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    public static long currentVersion(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT COALESCE(MAX(version), 0) FROM menu_changes");
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    // Oldest first; at most limit rows
+    public static List<Change> readSince(Connection conn, long version, int limit) throws SQLException {
+        List<Change> changes = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(
+            "SELECT version, food_id, op FROM menu_changes WHERE version > ? ORDER BY version LIMIT ?")) {
+            pstmt.setLong(1, version);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    changes.add(new Change(rs.getLong("version"), rs.getInt("food_id"),
+                                           rs.getString("op").charAt(0)));
+                }
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,107 @@
+package com.restaurant.restaurantpremium;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Compares the old one-query-per-item menu load against MenuLoader.
+// Usage: MenuLoadBenchmark [menu sizes...]   e.g. 10 50 100 500
+public class MenuLoadBenchmark {
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+            ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+            : new int[] { 10, 50, 100, 200, 500 };
+
+        try (Connection conn = DBConnection.getConnection()) {
+            System.out.printf("%-8s %-8s %12s %12s %12s %12s%n",
+                "items", "loaded", "n+1 queries", "n+1 ms", "set queries", "set ms");
+            for (int size : sizes) {
+                int loaded = loadPerItem(conn, size).size();
+                double perItemMs = measure(() -> loadPerItem(conn, size));
+                double setBasedMs = measure(() -> loadSetBased(conn, size));
+                System.out.printf("%-8d %-8d %12d %12.2f %12d %12.2f%n",
+                    size, loaded, loaded + 1, perItemMs, MenuLoader.QUERY_COUNT, setBasedMs);
+            }
+        } catch (SQLException e) {
+            System.err.println("Benchmark failed!");
+            e.printStackTrace();
+        }
+    }
+
+    private interface Load {
+        List<FoodItem> run() throws SQLException;
+    }
+
+    // Median wall time of MEASURED_RUNS loads, in milliseconds
+    private static double measure(Load load) throws SQLException {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            load.run();
+        }
+        long[] times = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            load.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2] / 1_000_000.0;
+    }
+
+    private static List<FoodItem> loadSetBased(Connection conn, int size) throws SQLException {
+        List<FoodItem> items = new ArrayList<>();
+        MenuLoader.streamMenu(conn, size, items::add);
+        return items;
+    }
+
+    // The previous loader: one review query per menu item
+    private static List<FoodItem> loadPerItem(Connection conn, int size) throws SQLException {
+        List<FoodItem> items = new ArrayList<>();
+        String sql = "SELECT f.*, COALESCE(AVG(r.rating), 0.0) AS avg_rating, " +
+                   "COALESCE(f.original_price, f.price) AS original_price, " +
+                   "COALESCE(f.discount_percentage, 0) AS discount_percentage " +
+                   "FROM food_items f LEFT JOIN reviews r ON f.id = r.food_id " +
+                   "GROUP BY f.id ORDER BY f.name LIMIT " + size;
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                items.add(new FoodItem(
+                    rs.getInt("id"),
+                    rs.getString("name"),
+                    rs.getString("description"),
+                    rs.getDouble("price"),
+                    rs.getString("category"),
+                    rs.getString("image_path"),
+                    rs.getDouble("avg_rating"),
+                    rs.getBoolean("is_special"),
+                    rs.getDouble("original_price"),
+                    rs.getDouble("discount_percentage")
+                ));
+            }
+        }
+        List<FoodItem> withReviews = new ArrayList<>();
+        for (FoodItem item : items) {
+            List<String> reviews = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT comment FROM reviews WHERE food_id = ?")) {
+                pstmt.setInt(1, item.getId());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        reviews.add(rs.getString("comment"));
+                    }
+                }
+            }
+            withReviews.add(new FoodItem(item.getId(), item.getName(), item.getDescription(),
+                item.getPrice(), item.getCategory(), item.getImagePath(), item.getAvgRating(),
+                item.isSpecial(), item.getOriginalPrice(), item.getDiscountPercentage(),
+                reviews, reviews.size()));
+        }
+        return withReviews;
+    }
+}
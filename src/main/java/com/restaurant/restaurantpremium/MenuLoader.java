@@ -0,0 +1,126 @@
+package com.restaurant.restaurantpremium;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class MenuLoader {
+    // Newest comments kept per item for the menu card preview; the rest are paged in by
+    // ReviewPager when someone opens the full review list
+    public static final int REVIEWS_PER_ITEM = 2;
+    // Round trips per load, independent of menu size
+    public static final int QUERY_COUNT = 2;
+
+    // Newest first by id, like ReviewPager: each item's few rows come off the end of its
+    // (food_id, id) index range instead of ranking and sorting the whole reviews table
+    private static final String COMMENTS_SQL =
+        "SELECT f.id AS food_id, r.comment FROM food_items f, LATERAL (" +
+        "SELECT id, comment FROM reviews WHERE food_id = f.id " +
+        // A review may have a rating but no comment; FoodItem's list can't hold nulls
+        "AND comment IS NOT NULL ORDER BY id DESC LIMIT ?" +
+        ") r %s ORDER BY f.id, r.id DESC";
+
+    private static final String ITEMS_SQL =
+        "SELECT f.id, f.name, f.description, f.price, f.category, f.image_path, f.is_special, " +
+        "f.rating_count, f.rating_sum, " +
+        "COALESCE(f.original_price, f.price) AS original_price, " +
+        "COALESCE(f.discount_percentage, 0) AS discount_percentage " +
+        "FROM food_items f %s ORDER BY f.name";
+
+    public static List<FoodItem> loadMenu(Connection conn) throws SQLException {
+        List<FoodItem> items = new ArrayList<>();
+        streamMenu(conn, 0, items::add);
+        return items;
+    }
+
+    // Reads the menu in QUERY_COUNT queries and hands each item to the sink as its row arrives.
+    // A positive limit only reads that many items (used by the benchmark).
+    public static void streamMenu(Connection conn, int limit, Consumer<FoodItem> sink) throws SQLException {
+        stream(conn, null, limit, sink);
+    }
+
+    // Same queries, restricted to the given ids
+    public static List<FoodItem> loadItems(Connection conn, Collection<Integer> ids) throws SQLException {
+        List<FoodItem> items = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            stream(conn, new ArrayList<>(ids), 0, items::add);
+        }
+        return items;
+    }
+
+    private static void stream(Connection conn, List<Integer> ids, int limit,
+                               Consumer<FoodItem> sink) throws SQLException {
+        String itemFilter = ids == null ? "" : "WHERE f.id IN (" + placeholders(ids.size()) + ")";
+
+        Map<Integer, List<String>> comments = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(String.format(COMMENTS_SQL, itemFilter))) {
+            pstmt.setInt(1, REVIEWS_PER_ITEM);
+            bindIds(pstmt, ids, 2);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    comments.computeIfAbsent(rs.getInt("food_id"), k -> new ArrayList<>())
+                            .add(rs.getString("comment"));
+                }
+            }
+        }
+
+        String sql = String.format(ITEMS_SQL, itemFilter);
+        if (limit > 0) {
+            sql += " LIMIT " + limit;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            bindIds(pstmt, ids, 1);
+            // Connector/J streams rows one at a time instead of buffering the whole result
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int id = rs.getInt("id");
+                    // Maintained by CustomerReviews alongside each review insert
+                    int ratingCount = rs.getInt("rating_count");
+                    double avgRating = ratingCount > 0 ? (double) rs.getLong("rating_sum") / ratingCount : 0.0;
+                    FoodItem item = new FoodItem(
+                        id,
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        rs.getDouble("price"),
+                        rs.getString("category"),
+                        rs.getString("image_path"),
+                        avgRating,
+                        rs.getBoolean("is_special"),
+                        rs.getDouble("original_price"),
+                        rs.getDouble("discount_percentage"),
+                        comments.getOrDefault(id, List.of()),
+                        ratingCount
+                    );
+                    sink.accept(item);
+                }
+            }
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+
+    // Returns the next free parameter index
+    private static int bindIds(PreparedStatement pstmt, List<Integer> ids, int index) throws SQLException {
+        if (ids != null) {
+            for (int id : ids) {
+                pstmt.setInt(index++, id);
+            }
+        }
+        return index;
+    }
+}
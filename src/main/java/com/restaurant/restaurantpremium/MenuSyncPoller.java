@@ -0,0 +1,101 @@
+package com.restaurant.restaurantpremium;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Keeps this terminal's MenuCatalog in step with edits made on other terminals
+public class MenuSyncPoller {
+    private static final long POLL_INTERVAL_MILLIS = 5_000;
+    // More pending changes than this and a full reload is cheaper than patching
+    private static final int MAX_DELTA = 200;
+
+    private static ScheduledExecutorService scheduler;
+
+    public static synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "menu-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(MenuSyncPoller::pollQuietly,
+            POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private static void pollQuietly() {
+        try {
+            poll();
+        } catch (SQLException e) {
+            System.err.println("Menu sync failed: " + e.getMessage());
+        }
+    }
+
+    public static void poll() throws SQLException {
+        MenuCatalog catalog = MenuCatalog.getInstance();
+        if (!catalog.isLoaded()) {
+            return;
+        }
+        long since = catalog.getVersion();
+
+        boolean fullReload = false;
+        try (Connection conn = DBConnection.getConnection()) {
+            List<MenuChangeLog.Change> changes = MenuChangeLog.readSince(conn, since, MAX_DELTA + 1);
+            if (changes.isEmpty()) {
+                return;
+            }
+            if (changes.size() > MAX_DELTA) {
+                fullReload = true;
+            } else {
+                applyChanges(conn, catalog, since, changes);
+            }
+        }
+        if (fullReload) {
+            catalog.reload();
+        }
+    }
+
+    private static void applyChanges(Connection conn, MenuCatalog catalog, long since,
+                                     List<MenuChangeLog.Change> changes) throws SQLException {
+        // Only the latest operation per item matters
+        Set<Integer> upserts = new LinkedHashSet<>();
+        Set<Integer> deletes = new LinkedHashSet<>();
+        for (MenuChangeLog.Change change : changes) {
+            if (change.getOp() == MenuChangeLog.DELETE) {
+                upserts.remove(change.getFoodId());
+                deletes.add(change.getFoodId());
+            } else {
+                deletes.remove(change.getFoodId());
+                upserts.add(change.getFoodId());
+            }
+        }
+
+        List<FoodItem> changed = upserts.isEmpty()
+            ? new ArrayList<>()
+            : MenuLoader.loadItems(conn, upserts);
+        // An upserted row that is gone by now was deleted after its log entry was read
+        Set<Integer> missing = new LinkedHashSet<>(upserts);
+        for (FoodItem item : changed) {
+            missing.remove(item.getId());
+        }
+        deletes.addAll(missing);
+
+        long version = changes.get(changes.size() - 1).getVersion();
+        catalog.applyDelta(changed, deletes, since, version);
+    }
+}
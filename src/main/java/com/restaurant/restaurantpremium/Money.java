@@ -0,0 +1,58 @@
+package com.restaurant.restaurantpremium;
+
+import java.math.BigDecimal;
+
+// Amounts are whole paise in plain longs: sums are exact however long the session runs, and
+// the arithmetic allocates nothing. Rupee doubles from the menu are converted once, when a
+// dish goes into the cart; decimals only appear again for display and for the database.
+public final class Money {
+    public enum GstRounding {
+        // GST is worked out and rounded for each cart line, then summed
+        PER_LINE,
+        // GST is worked out once on the subtotal and rounded once
+        PER_ORDER
+    }
+
+    // 5% GST, in hundredths of a percent
+    public static final int GST_BASIS_POINTS = 500;
+    public static final GstRounding GST_ROUNDING =
+        GstRounding.valueOf(System.getProperty("greenchilli.gstRounding", GstRounding.PER_ORDER.name()));
+
+    private static final char RUPEE = '₹';
+
+    private Money() {
+    }
+
+    public static long ofRupees(double rupees) {
+        return Math.round(rupees * 100);
+    }
+
+    // GST on an amount, rounded half up to the paisa
+    public static long gst(long paise) {
+        return Math.floorDiv(paise * GST_BASIS_POINTS + 5_000, 10_000);
+    }
+
+    // For NUMERIC/DECIMAL(…, 2) columns
+    public static BigDecimal toDecimal(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    // "₹1234.50"
+    public static String format(long paise) {
+        return appendPlain(new StringBuilder(16).append(RUPEE), paise).toString();
+    }
+
+    // "1234.50"
+    public static String plain(long paise) {
+        return appendPlain(new StringBuilder(16), paise).toString();
+    }
+
+    public static StringBuilder appendPlain(StringBuilder out, long paise) {
+        if (paise < 0) {
+            out.append('-');
+            paise = -paise;
+        }
+        long fraction = paise % 100;
+        return out.append(paise / 100).append('.').append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
+    }
+}
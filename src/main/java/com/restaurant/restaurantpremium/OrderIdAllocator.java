@@ -0,0 +1,167 @@
+package com.restaurant.restaurantpremium;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands out order ids from blocks reserved in the id_blocks table, so an order's id is known
+// before its INSERT and the header and line rows need no getGeneratedKeys round trip in
+// between. A block of -Dgreenchilli.orderIdBlock ids (default 100) is claimed in one short
+// transaction; ids within it come from an AtomicLong. Ids left unused when the process exits
+// are simply skipped, so ids are unique but neither gap-free nor in order across terminals.
+//
+// Every writer of orders must take its ids from here: an auto-increment insert could reuse
+// an id from a block another terminal holds.
+public class OrderIdAllocator {
+    private static final int BLOCK_SIZE = Integer.getInteger("greenchilli.orderIdBlock", 100);
+    // Claim the next block in the background once this few ids are left
+    private static final int LOW_WATER = Math.max(1, BLOCK_SIZE / 5);
+    private static final String SEQUENCE = "orders";
+
+    private static OrderIdAllocator instance;
+
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    private static final Block EMPTY = new Block(0, 0);
+
+    private volatile Block current = EMPTY;
+    private Block reserved;
+    private boolean claiming;
+
+    public static synchronized OrderIdAllocator getInstance() {
+        if (instance == null) {
+            instance = new OrderIdAllocator();
+        }
+        return instance;
+    }
+
+    // The next id, claiming a new block from the database if this one is used up
+    public long next() throws SQLException {
+        while (true) {
+            Block block = current;
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                if (block.end - id == LOW_WATER) {
+                    prefetch();
+                }
+                return id;
+            }
+            refill(block);
+        }
+    }
+
+    // The next id if one is already in memory, else 0; never waits on the database. Lets an
+    // order captured while the database is down still get its id at the counter.
+    public long tryNext() {
+        while (true) {
+            Block block = current;
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                if (block.end - id == LOW_WATER) {
+                    prefetch();
+                }
+                return id;
+            }
+            synchronized (this) {
+                if (current != block) {
+                    continue;
+                }
+                if (reserved == null) {
+                    prefetch();
+                    return 0;
+                }
+                current = reserved;
+                reserved = null;
+            }
+        }
+    }
+
+    // The database is never called with the lock held, so tryNext() on the EDT can't stall
+    private void refill(Block exhausted) throws SQLException {
+        synchronized (this) {
+            if (current != exhausted) {
+                return;
+            }
+            if (reserved != null) {
+                current = reserved;
+                reserved = null;
+                return;
+            }
+        }
+        install(claim(BLOCK_SIZE));
+    }
+
+    // Claims the following block on a background thread so next() rarely waits
+    private synchronized void prefetch() {
+        if (reserved != null || claiming) {
+            return;
+        }
+        claiming = true;
+        Thread t = new Thread(() -> {
+            try {
+                install(claim(BLOCK_SIZE));
+            } catch (SQLException e) {
+                System.err.println("Could not reserve order ids: " + e.getMessage());
+            } finally {
+                synchronized (this) {
+                    claiming = false;
+                }
+            }
+        }, "order-id-block");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private synchronized void install(long start) {
+        Block block = new Block(start, start + BLOCK_SIZE);
+        if (current.next.get() >= current.end) {
+            current = block;
+        } else if (reserved == null) {
+            reserved = block;
+        }
+        // else a concurrent claim got there first and these ids go unused
+    }
+
+    // Returns the first of size ids now owned by this process
+    private static long claim(int size) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                long start;
+                try (PreparedStatement select = conn.prepareStatement(
+                    "SELECT next_id FROM id_blocks WHERE name = ? FOR UPDATE")) {
+                    select.setString(1, SEQUENCE);
+                    try (ResultSet rs = select.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new SQLException("No id_blocks row for " + SEQUENCE);
+                        }
+                        start = rs.getLong("next_id");
+                    }
+                }
+                try (PreparedStatement update = conn.prepareStatement(
+                    "UPDATE id_blocks SET next_id = ? WHERE name = ?")) {
+                    update.setLong(1, start + size);
+                    update.setString(2, SEQUENCE);
+                    update.executeUpdate();
+                }
+                conn.commit();
+                return start;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.restaurant.restaurantpremium;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+// Confirmed orders go to a local journal first and to MySQL afterwards, so checkout doesn't
+// wait on the database and a sale survives the database being slow or down. submit() returns
+// once the order is fsync'd to the journal; a background sender then hands it to OrderWriter,
+// retrying with backoff while the database can't be reached. Each order carries an idempotency
+// key, so an order that was stored just before a crash or timeout is not stored again. An order
+// the database rejects for its data (e.g. a dish deleted before it synced) would never get
+// through, so it is set aside as rejected instead of retried, and kept for manual recovery.
+//
+// The journal (-Dgreenchilli.outboxDir, default ~/.greenchilli/outbox) is a sequence of
+// length- and CRC-framed records: an ORDER record per submitted order, then a SYNCED record once
+// it is in the database or a REJECTED record once the database refused it. It is emptied
+// whenever nothing is pending or rejected, and compacted on start.
+public class OrderOutbox {
+    private static final byte ORDER = 1;
+    private static final byte SYNCED = 2;
+    private static final byte REJECTED = 3;
+    private static final long FIRST_RETRY_MILLIS = 1_000;
+    private static final long MAX_RETRY_MILLIS = 30_000;
+
+    private static final Path DIRECTORY = Paths.get(System.getProperty("greenchilli.outboxDir",
+        Paths.get(System.getProperty("user.home"), ".greenchilli", "outbox").toString()));
+
+    private static OrderOutbox instance;
+
+    private final Path journalFile;
+    private final FileLock fileLock;
+    // A lock rather than synchronized: submit() fsyncs while holding it and may be called from
+    // virtual threads (OrderService), which a monitor would pin to their carrier
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private FileChannel journal;
+    // Submitted and not yet confirmed stored, in submission order
+    private final Map<String, PendingOrder> pending = new LinkedHashMap<>();
+    // Refused by the database for their data; never resent, kept in the journal
+    private final Map<String, PendingOrder> rejected = new LinkedHashMap<>();
+    private final LinkedBlockingDeque<PendingOrder> queue = new LinkedBlockingDeque<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private int synced;
+
+    private OrderOutbox(Path directory, boolean send) throws IOException {
+        Files.createDirectories(directory);
+        journalFile = directory.resolve("orders.journal");
+        // Only one process may own the journal
+        FileChannel lockChannel = FileChannel.open(directory.resolve("outbox.lock"),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        fileLock = lockChannel.tryLock();
+        if (fileLock == null) {
+            lockChannel.close();
+            throw new IOException("Order outbox " + directory + " is in use by another instance");
+        }
+        boolean hadSynced;
+        try {
+            hadSynced = replay();
+        } catch (IOException e) {
+            fileLock.release();
+            lockChannel.close();
+            throw e;
+        }
+        if (hadSynced) {
+            compact();
+        }
+        journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        journal.position(journal.size());
+        queue.addAll(pending.values());
+
+        if (send) {
+            Thread sender = new Thread(this::send, "order-outbox");
+            sender.setDaemon(true);
+            sender.start();
+        }
+    }
+
+    public static synchronized OrderOutbox getInstance() throws IOException {
+        if (instance == null) {
+            instance = new OrderOutbox(DIRECTORY, true);
+        }
+        return instance;
+    }
+
+    // An outbox in the given directory that only journals and never sends to the database,
+    // for benchmarks and tests that must not create real orders
+    public static OrderOutbox openLocal(Path directory) throws IOException {
+        return new OrderOutbox(directory, false);
+    }
+
+    // Returns once the order is durable on this machine
+    public void submit(PendingOrder order) throws IOException {
+        journalLock.lock();
+        try {
+            append(ORDER, order, true);
+            pending.put(order.getIdempotencyKey(), order);
+            queue.offer(order);
+        } finally {
+            journalLock.unlock();
+        }
+        fireChanged();
+    }
+
+    public int getPendingCount() {
+        journalLock.lock();
+        try {
+            return pending.size();
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    // Orders the database refused, which need someone to look at them
+    public int getRejectedCount() {
+        journalLock.lock();
+        try {
+            return rejected.size();
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    // Orders stored since this process started
+    public int getSyncedCount() {
+        journalLock.lock();
+        try {
+            return synced;
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    // Called on the submitting or the sender thread after the counts change
+    public void addListener(Runnable onChanged) {
+        listeners.add(onChanged);
+    }
+
+    public void removeListener(Runnable onChanged) {
+        listeners.remove(onChanged);
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    // Hands everything queued to OrderWriter at once, so a backlog goes out in a few group
+    // commits rather than a transaction per order
+    private void send() {
+        OrderWriter writer = OrderWriter.getInstance();
+        List<PendingOrder> batch = new ArrayList<>();
+        long retryMillis = FIRST_RETRY_MILLIS;
+        while (true) {
+            try {
+                batch.add(queue.takeFirst());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+            List<CompletableFuture<Integer>> results = new ArrayList<>(batch.size());
+            for (PendingOrder order : batch) {
+                results.add(writer.submit(order));
+            }
+            SQLException failure = null;
+            for (int i = 0; i < batch.size(); i++) {
+                PendingOrder order = batch.get(i);
+                SQLException error = null;
+                try {
+                    results.get(i).join();
+                } catch (CompletionException e) {
+                    error = e.getCause() instanceof SQLException
+                        ? (SQLException) e.getCause() : new SQLException(e.getCause());
+                }
+                try {
+                    if (error == null) {
+                        markSynced(order);
+                    } else if (OrderWriter.isDataError(error)) {
+                        // Retrying can't help, and backing off would hold up the orders behind it
+                        System.err.println("Order " + order.getIdempotencyKey() + " rejected by the database: "
+                            + error.getMessage());
+                        markRejected(order);
+                    } else {
+                        failure = error;
+                        queue.offerLast(order);
+                    }
+                } catch (IOException e) {
+                    // Stored or rejected, but the record couldn't be written; the order is resent
+                    // after a restart and the idempotency key keeps that harmless
+                    System.err.println("Could not update order journal: " + e.getMessage());
+                }
+            }
+            batch.clear();
+            if (failure == null) {
+                retryMillis = FIRST_RETRY_MILLIS;
+                continue;
+            }
+            System.err.println("Orders not stored yet, retrying in " + retryMillis / 1000 + " s: "
+                + failure.getMessage());
+            try {
+                Thread.sleep(retryMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            retryMillis = Math.min(MAX_RETRY_MILLIS, retryMillis * 2);
+        }
+    }
+
+    private void markSynced(PendingOrder order) throws IOException {
+        journalLock.lock();
+        try {
+            pending.remove(order.getIdempotencyKey());
+            synced++;
+            if (pending.isEmpty() && rejected.isEmpty()) {
+                // Nothing left to replay, so the journal can start over
+                journal.truncate(0);
+                journal.force(true);
+            } else {
+                // No fsync needed: if this record is lost the order is just sent again
+                append(SYNCED, order, false);
+            }
+        } finally {
+            journalLock.unlock();
+        }
+        fireChanged();
+    }
+
+    private void markRejected(PendingOrder order) throws IOException {
+        journalLock.lock();
+        try {
+            pending.remove(order.getIdempotencyKey());
+            rejected.put(order.getIdempotencyKey(), order);
+            // Synced so a restart doesn't send it again
+            append(REJECTED, order, true);
+        } finally {
+            journalLock.unlock();
+        }
+        fireChanged();
+    }
+
+    // Frame: length, CRC32 of the body, body (record type then payload)
+    private void append(byte type, PendingOrder order, boolean sync) throws IOException {
+        ByteBuffer frame = frame(type, order);
+        while (frame.hasRemaining()) {
+            journal.write(frame);
+        }
+        if (sync) {
+            journal.force(false);
+        }
+    }
+
+    private static ByteBuffer frame(byte type, PendingOrder order) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeByte(type);
+        if (type == ORDER) {
+            order.writeTo(out);
+        } else {
+            out.writeUTF(order.getIdempotencyKey());
+        }
+        out.flush();
+        CRC32 crc = new CRC32();
+        crc.update(body.toByteArray());
+        ByteBuffer frame = ByteBuffer.allocate(8 + body.size());
+        frame.putInt(body.size()).putInt((int) crc.getValue()).put(body.toByteArray()).flip();
+        return frame;
+    }
+
+    // Loads the orders still pending or rejected from the journal. A torn record at the end, from
+    // a crash mid-write, is cut off. Returns whether any SYNCED or REJECTED records were seen.
+    private boolean replay() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return false;
+        }
+        boolean hadSynced = false;
+        long good = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                int expected = in.readInt();
+                if (length <= 0 || length > 16 * 1024 * 1024) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != expected) {
+                    break;
+                }
+                // The checksum matched, so the record is whole: if it can't be read it was
+                // written by a newer build, and truncating here would drop its orders
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(body));
+                try {
+                    byte type = record.readByte();
+                    if (type == ORDER) {
+                        PendingOrder order = PendingOrder.readFrom(record);
+                        pending.put(order.getIdempotencyKey(), order);
+                    } else if (type == SYNCED) {
+                        pending.remove(record.readUTF());
+                        hadSynced = true;
+                    } else if (type == REJECTED) {
+                        PendingOrder order = pending.remove(record.readUTF());
+                        if (order != null) {
+                            rejected.put(order.getIdempotencyKey(), order);
+                        }
+                        hadSynced = true;
+                    } else {
+                        throw new IOException("Unknown record type " + type);
+                    }
+                } catch (IOException e) {
+                    throw new IOException("Can't read order journal " + journalFile + " at " + good
+                        + "; leaving it untouched", e);
+                }
+                good += 8 + length;
+            }
+        } catch (EOFException e) {
+            // Torn final record
+        }
+        if (good < Files.size(journalFile)) {
+            System.err.println("Order journal had a torn record at " + good + ", ignoring the rest");
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                channel.truncate(good);
+                channel.force(true);
+            }
+        }
+        return hadSynced;
+    }
+
+    // Rewrites the journal with only the pending and rejected orders, swapped in atomically
+    private void compact() throws IOException {
+        Path temp = Files.createTempFile(journalFile.getParent(), "orders", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                for (PendingOrder order : pending.values()) {
+                    write(channel, frame(ORDER, order));
+                }
+                for (PendingOrder order : rejected.values()) {
+                    write(channel, frame(ORDER, order));
+                    write(channel, frame(REJECTED, order));
+                }
+                channel.force(true);
+            }
+            Files.move(temp, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer frame) throws IOException {
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+}
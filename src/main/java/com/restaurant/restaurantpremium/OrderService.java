@@ -0,0 +1,234 @@
+package com.restaurant.restaurantpremium;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Ordering without a UI: open a cart, add and remove dishes, get a price quote or the receipt
+// text, and check out. Carts are sessions identified by an opaque id, so the billing screen,
+// scripts, tablets and load tests all go through the same code. Every method is thread-safe;
+// cart operations only touch memory and lock just their own session, so thousands of sessions
+// can be driven from virtual threads at once. Checkout's blocking step, journaling the order
+// to OrderOutbox, runs on a virtual thread and is reported through the returned future.
+public class OrderService {
+    // Looks dishes up by id; MenuCatalog in the application
+    public interface Menu {
+        FoodItem findById(int foodId) throws SQLException;
+    }
+
+    // Immutable snapshot of a cart and its prices, amounts in paise
+    public static final class Quote {
+        private final String cartId;
+        private final List<CartLine> lines;
+        private final long subtotal;
+        private final long gst;
+        private final long total;
+        private final int itemCount;
+
+        private Quote(String cartId, Cart cart) {
+            this.cartId = cartId;
+            this.lines = List.copyOf(cart.getLines());
+            this.subtotal = cart.getSubtotal();
+            this.gst = cart.getGst();
+            this.total = cart.getTotal();
+            this.itemCount = cart.getItemCount();
+        }
+
+        public String getCartId() { return cartId; }
+        public List<CartLine> getLines() { return lines; }
+        public long getSubtotal() { return subtotal; }
+        public long getGst() { return gst; }
+        public long getTotal() { return total; }
+        public int getItemCount() { return itemCount; }
+        public boolean isEmpty() { return lines.isEmpty(); }
+    }
+
+    private static final class Session {
+        final Cart cart = new Cart();
+        // Set while the order is being journaled, so the cart can't change under it
+        boolean checkingOut;
+    }
+
+    private static OrderService instance;
+
+    private final Menu menu;
+    // Null for the application's OrderOutbox.getInstance()
+    private final OrderOutbox outbox;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OrderService(Menu menu) {
+        this(menu, null);
+    }
+
+    public OrderService(Menu menu, OrderOutbox outbox) {
+        this.menu = menu;
+        this.outbox = outbox;
+    }
+
+    public static synchronized OrderService getInstance() {
+        if (instance == null) {
+            instance = new OrderService(MenuCatalog.getInstance()::findById);
+        }
+        return instance;
+    }
+
+    public String openCart() {
+        String cartId = UUID.randomUUID().toString();
+        sessions.put(cartId, new Session());
+        return cartId;
+    }
+
+    // Abandons the cart
+    public void closeCart(String cartId) {
+        sessions.remove(cartId);
+    }
+
+    public int getOpenCartCount() {
+        return sessions.size();
+    }
+
+    public Quote addItem(String cartId, int foodId) throws SQLException {
+        FoodItem item = menu.findById(foodId);
+        if (item == null) {
+            throw new IllegalArgumentException("No dish with id " + foodId);
+        }
+        return addItem(cartId, item);
+    }
+
+    // Adds the dish as the caller sees it, e.g. the menu snapshot a screen is showing
+    public Quote addItem(String cartId, FoodItem item) {
+        Session session = session(cartId);
+        synchronized (session) {
+            checkOpen(session);
+            session.cart.add(item);
+            return new Quote(cartId, session.cart);
+        }
+    }
+
+    // Takes one of the dish off the order; nothing changes if it isn't in the cart
+    public Quote removeItem(String cartId, int foodId) {
+        Session session = session(cartId);
+        synchronized (session) {
+            checkOpen(session);
+            session.cart.removeOne(foodId);
+            return new Quote(cartId, session.cart);
+        }
+    }
+
+    public Quote clearCart(String cartId) {
+        Session session = session(cartId);
+        synchronized (session) {
+            checkOpen(session);
+            session.cart.clear();
+            return new Quote(cartId, session.cart);
+        }
+    }
+
+    public Quote price(String cartId) {
+        Session session = session(cartId);
+        synchronized (session) {
+            return new Quote(cartId, session.cart);
+        }
+    }
+
+    public String receipt(String cartId, String customerName, Date when) {
+        return receipt(price(cartId), customerName, when);
+    }
+
+    // The printed receipt for a quote, as shown before payment is confirmed
+    public static String receipt(Quote quote, String customerName, Date when) {
+        StringBuilder receiptText = new StringBuilder();
+        receiptText.append("==================== GREEN CHILLI ====================\n");
+        receiptText.append("================= A Bait of Flavours ==================\n\n");
+        receiptText.append("--------------------------------------------------\n");
+        receiptText.append(String.format("%-40s\n", "RECEIPT"));
+        receiptText.append("--------------------------------------------------\n");
+        receiptText.append(String.format("%-30s %s\n", "Customer Name:", customerName));
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy");
+        SimpleDateFormat timeFormat = new SimpleDateFormat("hh:mm:ss a");
+        receiptText.append(String.format("%-30s %s\n", "Date:", dateFormat.format(when)));
+        receiptText.append(String.format("%-30s %s\n", "Time:", timeFormat.format(when)));
+
+        receiptText.append("--------------------------------------------------\n");
+        receiptText.append(String.format("%-30s %10s\n", "ITEM", "PRICE"));
+        receiptText.append("--------------------------------------------------\n");
+
+        for (CartLine line : quote.getLines()) {
+            receiptText.append(String.format("%-30s ₹%10s\n", line.getLabel(), Money.plain(line.getLineTotal())));
+        }
+
+        receiptText.append("--------------------------------------------------\n");
+        receiptText.append(String.format("%-30s ₹%10s\n", "SUBTOTAL:", Money.plain(quote.getSubtotal())));
+        receiptText.append(String.format("%-30s ₹%10s\n", "GST (5%):", Money.plain(quote.getGst())));
+        receiptText.append("--------------------------------------------------\n");
+        receiptText.append(String.format("%-30s ₹%10s\n", "TOTAL:", Money.plain(quote.getTotal())));
+        receiptText.append("--------------------------------------------------\n\n");
+        receiptText.append("Payment Method: Cash/Card\n");
+        receiptText.append("Thank you for dining with us at Green Chilli!\n");
+        return receiptText.toString();
+    }
+
+    // Journals the order and closes the cart. The future completes once the order is durable
+    // on this machine (OrderOutbox stores it in the database later). It never throws; instead
+    // the future fails with an IllegalArgumentException for an unknown cart, an
+    // IllegalStateException for an empty cart or one already being checked out, or an
+    // UncheckedIOException if the order couldn't be journaled, in which case the cart stays
+    // open for another try.
+    public CompletableFuture<PendingOrder> checkout(String cartId) {
+        Session session;
+        PendingOrder order;
+        try {
+            session = session(cartId);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        synchronized (session) {
+            if (session.checkingOut) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Cart is being checked out"));
+            }
+            if (session.cart.isEmpty()) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Cart " + cartId + " is empty"));
+            }
+            // A private outbox never reaches the database, so its orders take no shared ids
+            order = PendingOrder.fromCart(session.cart, outbox == null ? OrderIdAllocator.getInstance().tryNext() : 0);
+            session.checkingOut = true;
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                (outbox != null ? outbox : OrderOutbox.getInstance()).submit(order);
+            } catch (IOException e) {
+                synchronized (session) {
+                    session.checkingOut = false;
+                }
+                throw new UncheckedIOException(e);
+            }
+            sessions.remove(cartId);
+            return order;
+        }, executor);
+    }
+
+    private Session session(String cartId) {
+        Session session = sessions.get(cartId);
+        if (session == null) {
+            throw new IllegalArgumentException("No open cart " + cartId);
+        }
+        return session;
+    }
+
+    private static void checkOpen(Session session) {
+        if (session.checkingOut) {
+            throw new IllegalStateException("Cart is being checked out");
+        }
+    }
+}
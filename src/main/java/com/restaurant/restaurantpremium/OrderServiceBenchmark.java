@@ -0,0 +1,96 @@
+package com.restaurant.restaurantpremium;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Drives OrderService headlessly with one virtual thread per session: open a cart, add
+// dishes, take one off, price it, render the receipt, then abandon it or (with --checkout)
+// check out. Checked-out orders go to a throwaway outbox in a temp directory that never
+// sends to the database and is deleted at the end, so no synthetic orders reach the real
+// outbox or the orders table. Uses a synthetic menu; no database is needed.
+// Usage: OrderServiceBenchmark [sessions] [dishes per cart] [--checkout]   e.g. 10000 8
+public class OrderServiceBenchmark {
+    private static final int MENU_SIZE = 200;
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int dishes = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        boolean checkout = args.length > 2 && args[2].equals("--checkout");
+
+        Map<Integer, FoodItem> menu = new HashMap<>();
+        for (int id = 1; id <= MENU_SIZE; id++) {
+            menu.put(id, new FoodItem(id, "Dish " + id, "", 50 + id * 1.25, "Test", null,
+                0.0, false, 0.0, 0.0));
+        }
+        Path outboxDir = Files.createTempDirectory("greenchilli-bench-outbox");
+        OrderService service = new OrderService(menu::get, OrderOutbox.openLocal(outboxDir));
+
+        for (int round = 0; round < 2; round++) {
+            AtomicLong operations = new AtomicLong();
+            AtomicLong failures = new AtomicLong();
+            AtomicLong paise = new AtomicLong();
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int s = 0; s < sessions; s++) {
+                    executor.submit(() -> {
+                        try {
+                            paise.addAndGet(session(service, dishes, checkout, operations));
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    });
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s: %d sessions in %.2f s, %.0f sessions/s, %.0f cart ops/s, %d failed, "
+                    + "%d carts left open, %s billed%n",
+                round == 0 ? "warmup" : "run", sessions, seconds, sessions / seconds,
+                operations.get() / seconds, failures.get(), service.getOpenCartCount(), Money.format(paise.get()));
+        }
+        deleteDirectory(outboxDir);
+        System.exit(0);
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Returns the cart total
+    private static long session(OrderService service, int dishes, boolean checkout, AtomicLong operations)
+            throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String cartId = service.openCart();
+        List<Integer> added = new ArrayList<>();
+        for (int i = 0; i < dishes; i++) {
+            int foodId = 1 + random.nextInt(MENU_SIZE);
+            service.addItem(cartId, foodId);
+            added.add(foodId);
+        }
+        service.removeItem(cartId, added.get(random.nextInt(added.size())));
+        OrderService.Quote quote = service.price(cartId);
+        OrderService.receipt(quote, "Guest", new Date());
+        operations.addAndGet(dishes + 4);
+        if (checkout && !quote.isEmpty()) {
+            service.checkout(cartId).join();
+        } else {
+            service.closeCart(cartId);
+        }
+        return quote.getTotal();
+    }
+}
@@ -0,0 +1,128 @@
+package com.restaurant.restaurantpremium;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Orders per second through OrderWriter for several group-commit windows, with a number of
+// simulated terminals each placing an order and waiting for its id before the next one. The
+// "per-order" row writes every order in its own transaction, as checkout used to. The orders
+// it writes are deleted again at the end.
+// Usage: OrderWriteBenchmark [terminals] [window ms...]   e.g. 16 0 1 2 5 10
+public class OrderWriteBenchmark {
+    private static final long RUN_MILLIS = 5_000;
+    private static final int MAX_BATCH = 64;
+
+    public static void main(String[] args) throws Exception {
+        int terminals = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        long[] windows = args.length > 1
+            ? Arrays.stream(args, 1, args.length).mapToLong(Long::parseLong).toArray()
+            : new long[] { 0, 1, 2, 5, 10 };
+
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        try {
+            PendingOrder.Line line = sampleLine();
+            System.out.printf("%d terminals, %d s per run%n", terminals, RUN_MILLIS / 1000);
+            System.out.printf("%-12s %12s %12s %14s%n", "window", "orders/s", "avg batch", "median ms");
+            run("per-order", new OrderWriter(0, 1), terminals, line, written);
+            for (long window : windows) {
+                run(window + " ms", new OrderWriter(window, MAX_BATCH), terminals, line, written);
+            }
+        } catch (SQLException e) {
+            System.err.println("Benchmark failed!");
+            e.printStackTrace();
+        } finally {
+            deleteOrders(written);
+        }
+    }
+
+    private static void run(String label, OrderWriter writer, int terminals, PendingOrder.Line line,
+                            List<Integer> written) throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        List<long[]> latencies = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < terminals; t++) {
+            long[] samples = new long[1 << 16];
+            latencies.add(samples);
+            Thread thread = new Thread(() -> {
+                long subtotal = line.getUnitPaise() * line.getQuantity();
+                long gst = Money.gst(subtotal);
+                int n = 0;
+                while (!stop.get()) {
+                    PendingOrder order = new PendingOrder(UUID.randomUUID().toString(), 0,
+                        System.currentTimeMillis(), subtotal, gst, subtotal + gst, List.of(line));
+                    long start = System.nanoTime();
+                    written.add(writer.submit(order).join());
+                    if (n < samples.length - 1) {
+                        samples[++n] = System.nanoTime() - start;
+                    }
+                }
+                samples[0] = n;
+            }, "terminal-" + t);
+            threads.add(thread);
+        }
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        Thread.sleep(RUN_MILLIS);
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        writer.close();
+
+        List<Long> all = new ArrayList<>();
+        for (long[] samples : latencies) {
+            for (int i = 1; i <= samples[0]; i++) {
+                all.add(samples[i]);
+            }
+        }
+        Collections.sort(all);
+        double median = all.isEmpty() ? 0 : all.get(all.size() / 2) / 1e6;
+        double avgBatch = writer.getBatchCount() == 0 ? 0 : (double) writer.getOrderCount() / writer.getBatchCount();
+        System.out.printf("%-12s %12.0f %12.1f %14.2f%n", label, writer.getOrderCount() / seconds, avgBatch, median);
+    }
+
+    // Two of the first menu item, so order_items gets real foreign keys
+    private static PendingOrder.Line sampleLine() throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT id, name, price FROM food_items ORDER BY id LIMIT 1");
+             ResultSet rs = pstmt.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("food_items is empty");
+            }
+            return new PendingOrder.Line(rs.getInt("id"), rs.getString("name"),
+                Money.ofRupees(rs.getDouble("price")), 2);
+        }
+    }
+
+    private static void deleteOrders(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int from = 0; from < ids.size(); from += 1000) {
+                List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + 1000));
+                String in = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                for (String table : new String[] { "order_items WHERE order_id", "orders WHERE id" }) {
+                    try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM " + table + " IN (" + in + ")")) {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            pstmt.setInt(i + 1, chunk.get(i));
+                        }
+                        pstmt.executeUpdate();
+                    }
+                }
+            }
+            System.out.println("Deleted " + ids.size() + " benchmark orders");
+        } catch (SQLException e) {
+            System.err.println("Could not delete benchmark orders: " + e.getMessage());
+        }
+    }
+}
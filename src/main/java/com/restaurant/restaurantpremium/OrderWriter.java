@@ -0,0 +1,284 @@
+package com.restaurant.restaurantpremium;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Group commit for orders. Orders submitted from any thread are gathered for up to
+// -Dgreenchilli.orderWindowMillis (default 5) after the first one arrives, or until
+// -Dgreenchilli.orderBatch (default 64) are waiting, and then written together: one multi-row
+// INSERT into orders, multi-row INSERTs into order_items, one commit. Ids come from
+// OrderIdAllocator, and each caller's future completes with its own order id. An order whose
+// idempotency key is already stored is not written again; its future gets the existing id.
+//
+// If a batch is rejected for its data (a constraint or a bad value), its orders are retried
+// one transaction each, so one bad order fails alone. Connection and other transient errors
+// fail the whole batch at once; retrying order by order would only wait on a dead database
+// once per order.
+public class OrderWriter {
+    private static final long WINDOW_MILLIS = Long.getLong("greenchilli.orderWindowMillis", 5);
+    private static final int MAX_BATCH = Integer.getInteger("greenchilli.orderBatch", 64);
+    // Rows per multi-row order_items INSERT, well under MySQL's placeholder limit
+    private static final int ITEM_ROWS_PER_INSERT = 500;
+
+    private static OrderWriter instance;
+
+    private static final class Request {
+        final PendingOrder order;
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        Request(PendingOrder order) {
+            this.order = order;
+        }
+    }
+
+    private final long windowMillis;
+    private final int maxBatch;
+    private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    private long batches;
+    private long orders;
+
+    public OrderWriter(long windowMillis, int maxBatch) {
+        this.windowMillis = windowMillis;
+        this.maxBatch = Math.max(1, maxBatch);
+        thread = new Thread(this::run, "order-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static synchronized OrderWriter getInstance() {
+        if (instance == null) {
+            instance = new OrderWriter(WINDOW_MILLIS, MAX_BATCH);
+        }
+        return instance;
+    }
+
+    // Completes with the order's id once it is committed, or exceptionally with the SQLException
+    public CompletableFuture<Integer> submit(PendingOrder order) {
+        Request request = new Request(order);
+        if (closed) {
+            request.result.completeExceptionally(new SQLException("Order writer is closed"));
+            return request.result;
+        }
+        queue.add(request);
+        return request.result;
+    }
+
+    // Fails whatever is still waiting
+    public void close() {
+        closed = true;
+        thread.interrupt();
+    }
+
+    public synchronized long getBatchCount() { return batches; }
+    public synchronized long getOrderCount() { return orders; }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        try {
+            while (!closed) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Closed
+        }
+        SQLException closedError = new SQLException("Order writer is closed");
+        batch.addAll(queue);
+        queue.clear();
+        for (Request request : batch) {
+            request.result.completeExceptionally(closedError);
+        }
+    }
+
+    private void write(List<Request> batch) {
+        try {
+            Map<String, Integer> ids = store(batch);
+            for (Request request : batch) {
+                request.result.complete(ids.get(request.order.getIdempotencyKey()));
+            }
+            synchronized (this) {
+                batches++;
+                orders += batch.size();
+            }
+        } catch (SQLException e) {
+            if (batch.size() > 1 && isDataError(e)) {
+                for (Request request : batch) {
+                    write(Collections.singletonList(request));
+                }
+                return;
+            }
+            for (Request request : batch) {
+                request.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    // Errors caused by what was written, as opposed to reaching the database at all
+    static boolean isDataError(SQLException e) {
+        if (e instanceof SQLNonTransientConnectionException) {
+            return false;
+        }
+        if (e instanceof SQLIntegrityConstraintViolationException || e instanceof SQLDataException) {
+            return true;
+        }
+        // SQLSTATE classes 22 (data exception) and 23 (integrity constraint violation)
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("22") || state.startsWith("23"));
+    }
+
+    // Returns the order id for every key in the batch
+    private static Map<String, Integer> store(List<Request> batch) throws SQLException {
+        List<String> keys = new ArrayList<>(batch.size());
+        for (Request request : batch) {
+            keys.add(request.order.getIdempotencyKey());
+        }
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Map<String, Integer> ids = findIds(conn, keys);
+                List<PendingOrder> fresh = new ArrayList<>(batch.size());
+                Set<String> seen = new HashSet<>(ids.keySet());
+                for (Request request : batch) {
+                    // Also drops a key submitted twice within the batch
+                    if (seen.add(request.order.getIdempotencyKey())) {
+                        fresh.add(request.order);
+                    }
+                }
+                if (!fresh.isEmpty()) {
+                    // Ids are known up front, so the header and line rows go out back to back
+                    Map<String, Integer> freshIds = new HashMap<>();
+                    for (PendingOrder order : fresh) {
+                        long id = order.getOrderId() != 0 ? order.getOrderId() : OrderIdAllocator.getInstance().next();
+                        freshIds.put(order.getIdempotencyKey(), Math.toIntExact(id));
+                    }
+                    insertOrders(conn, fresh, freshIds);
+                    insertItems(conn, fresh, freshIds);
+                    ids.putAll(freshIds);
+                }
+                conn.commit();
+                return ids;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static Map<String, Integer> findIds(Connection conn, List<String> keys) throws SQLException {
+        String sql = "SELECT id, idempotency_key FROM orders WHERE idempotency_key IN ("
+            + placeholders(keys.size()) + ")";
+        Map<String, Integer> ids = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < keys.size(); i++) {
+                pstmt.setString(i + 1, keys.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(rs.getString("idempotency_key"), rs.getInt("id"));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void insertOrders(Connection conn, List<PendingOrder> fresh, Map<String, Integer> ids)
+            throws SQLException {
+        String sql = "INSERT INTO orders (id, order_date, subtotal, tax, total, idempotency_key) VALUES "
+            + rows(6, fresh.size());
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int p = 1;
+            for (PendingOrder order : fresh) {
+                pstmt.setInt(p++, ids.get(order.getIdempotencyKey()));
+                pstmt.setTimestamp(p++, new Timestamp(order.getCreatedAt()));
+                pstmt.setBigDecimal(p++, Money.toDecimal(order.getSubtotal()));
+                pstmt.setBigDecimal(p++, Money.toDecimal(order.getGst()));
+                pstmt.setBigDecimal(p++, Money.toDecimal(order.getTotal()));
+                pstmt.setString(p++, order.getIdempotencyKey());
+            }
+            pstmt.executeUpdate();
+        }
+    }
+
+    // One order_items row per cart line, with its quantity and line total
+    private static void insertItems(Connection conn, List<PendingOrder> fresh, Map<String, Integer> ids)
+            throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (PendingOrder order : fresh) {
+            Integer orderId = ids.get(order.getIdempotencyKey());
+            for (PendingOrder.Line line : order.getLines()) {
+                rows.add(new Object[] { orderId, line.getFoodId(), line.getName(),
+                    Money.toDecimal(line.getUnitPaise()), line.getQuantity(), Money.toDecimal(line.getLineTotal()) });
+            }
+        }
+        for (int from = 0; from < rows.size(); from += ITEM_ROWS_PER_INSERT) {
+            List<Object[]> chunk = rows.subList(from, Math.min(rows.size(), from + ITEM_ROWS_PER_INSERT));
+            String sql = "INSERT INTO order_items (order_id, food_item_id, item_name, item_price, quantity, line_total) "
+                + "VALUES " + rows(6, chunk.size());
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int p = 1;
+                for (Object[] row : chunk) {
+                    for (Object value : row) {
+                        pstmt.setObject(p++, value);
+                    }
+                }
+                pstmt.executeUpdate();
+            }
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+
+    // "(?, ?), (?, ?)" for count rows of width columns
+    private static String rows(int width, int count) {
+        String row = "(" + placeholders(width) + ")";
+        StringBuilder sb = new StringBuilder(count * (row.length() + 2));
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(row);
+        }
+        return sb.toString();
+    }
+}
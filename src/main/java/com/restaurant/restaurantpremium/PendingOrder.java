@@ -0,0 +1,123 @@
+package com.restaurant.restaurantpremium;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// A confirmed order as captured at the counter, before it reaches the database. The
+// idempotency key goes into orders.idempotency_key so an order sent twice is stored once.
+// The order id is assigned at the counter when OrderIdAllocator has one in memory, else 0
+// and OrderWriter assigns it. Amounts are in paise.
+public class PendingOrder {
+    // Journal record layout, written first. Version 1 records (from before the order id was
+    // journaled) have no version byte; they start with the zero high byte of the key's length.
+    private static final int RECORD_VERSION = 2;
+
+    public static class Line {
+        private final int foodId;
+        private final String name;
+        private final long unitPaise;
+        private final int quantity;
+
+        public Line(int foodId, String name, long unitPaise, int quantity) {
+            this.foodId = foodId;
+            this.name = name;
+            this.unitPaise = unitPaise;
+            this.quantity = quantity;
+        }
+
+        public int getFoodId() { return foodId; }
+        public String getName() { return name; }
+        public long getUnitPaise() { return unitPaise; }
+        public int getQuantity() { return quantity; }
+        public long getLineTotal() { return unitPaise * quantity; }
+    }
+
+    private final String idempotencyKey;
+    private final long orderId;
+    private final long createdAt;
+    private final long subtotal;
+    private final long gst;
+    private final long total;
+    private final List<Line> lines;
+
+    public PendingOrder(String idempotencyKey, long orderId, long createdAt, long subtotal, long gst, long total,
+                        List<Line> lines) {
+        this.idempotencyKey = idempotencyKey;
+        this.orderId = orderId;
+        this.createdAt = createdAt;
+        this.subtotal = subtotal;
+        this.gst = gst;
+        this.total = total;
+        this.lines = List.copyOf(lines);
+    }
+
+    // orderId is 0 to leave it to OrderWriter
+    public static PendingOrder fromCart(Cart cart, long orderId) {
+        List<Line> lines = new ArrayList<>();
+        for (CartLine line : cart.getLines()) {
+            lines.add(new Line(line.getFoodId(), line.getName(), line.getUnitPaise(), line.getQuantity()));
+        }
+        return new PendingOrder(UUID.randomUUID().toString(), orderId, System.currentTimeMillis(),
+            cart.getSubtotal(), cart.getGst(), cart.getTotal(), lines);
+    }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    // 0 if not assigned yet
+    public long getOrderId() { return orderId; }
+    // When the order was confirmed, in epoch millis; stored as orders.order_date
+    public long getCreatedAt() { return createdAt; }
+    public long getSubtotal() { return subtotal; }
+    public long getGst() { return gst; }
+    public long getTotal() { return total; }
+    public List<Line> getLines() { return lines; }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(RECORD_VERSION);
+        out.writeUTF(idempotencyKey);
+        out.writeLong(orderId);
+        out.writeLong(createdAt);
+        out.writeLong(subtotal);
+        out.writeLong(gst);
+        out.writeLong(total);
+        out.writeInt(lines.size());
+        for (Line line : lines) {
+            out.writeInt(line.foodId);
+            out.writeUTF(line.name);
+            out.writeLong(line.unitPaise);
+            out.writeInt(line.quantity);
+        }
+    }
+
+    static PendingOrder readFrom(DataInputStream in) throws IOException {
+        int version = in.readUnsignedByte();
+        String key;
+        long orderId;
+        if (version == 0) {
+            // Version 1: the rest of the key's length, then the key (a UUID, so plain ASCII)
+            byte[] bytes = new byte[in.readUnsignedByte()];
+            in.readFully(bytes);
+            key = new String(bytes, StandardCharsets.UTF_8);
+            orderId = 0;
+        } else if (version == RECORD_VERSION) {
+            key = in.readUTF();
+            orderId = in.readLong();
+        } else {
+            throw new IOException("Unknown order record version " + version);
+        }
+        long createdAt = in.readLong();
+        long subtotal = in.readLong();
+        long gst = in.readLong();
+        long total = in.readLong();
+        int count = in.readInt();
+        List<Line> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(new Line(in.readInt(), in.readUTF(), in.readLong(), in.readInt()));
+        }
+        return new PendingOrder(key, orderId, createdAt, subtotal, gst, total, lines);
+    }
+}
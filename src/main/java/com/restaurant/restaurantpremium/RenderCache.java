@@ -0,0 +1,184 @@
+package com.restaurant.restaurantpremium;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Memoized bitmaps for the custom-painted bits of the UI: "image not available" placeholders
+// and the rounded buttons. Each is drawn once per text, size and state and then only copied,
+// so hovering and repainting don't rebuild gradients, fonts and glyphs every frame. Entries are
+// kept least recently used first within a small pixel budget.
+public class RenderCache {
+    private static final long MAX_BYTES = 8L * 1024 * 1024;
+
+    public enum State {
+        NORMAL, HOVER, PRESSED;
+
+        public static State of(ButtonModel model) {
+            if (model.isPressed() && model.isArmed()) {
+                return PRESSED;
+            }
+            return model.isRollover() ? HOVER : NORMAL;
+        }
+    }
+
+    public interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    // Colours per state, font and corner arc of a rounded, filled button with centred text
+    public static final class ButtonStyle {
+        private final Color normal;
+        private final Color hover;
+        private final Color pressed;
+        private final Color text;
+        private final Font font;
+        private final int arc;
+
+        public ButtonStyle(Color normal, Color hover, Color pressed, Color text, Font font, int arc) {
+            this.normal = normal;
+            this.hover = hover;
+            this.pressed = pressed;
+            this.text = text;
+            this.font = font;
+            this.arc = arc;
+        }
+
+        Color fill(State state) {
+            return state == State.PRESSED ? pressed : state == State.HOVER ? hover : normal;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ButtonStyle)) {
+                return false;
+            }
+            ButtonStyle other = (ButtonStyle) o;
+            return arc == other.arc && normal.equals(other.normal) && hover.equals(other.hover)
+                && pressed.equals(other.pressed) && text.equals(other.text) && font.equals(other.font);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(normal, hover, pressed, text, font, arc);
+        }
+    }
+
+    // Access-ordered, keyed by everything that affects the pixels
+    private static final Map<List<Object>, ImageIcon> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private static long bytes;
+
+    // Centred lines of text on a light grey card, as shown while an image is missing or loading
+    public static ImageIcon placeholder(int width, int height, Font font, Color textColor, String... lines) {
+        List<Object> key = new ArrayList<>(Arrays.asList("placeholder", width, height, font, textColor));
+        key.addAll(Arrays.asList(lines));
+        return get(key, width, height, 1.0, (g, w, h) -> {
+            g.setColor(new Color(240, 240, 240));
+            g.fillRect(0, 0, w, h);
+            g.setColor(textColor);
+            g.setFont(font);
+            FontMetrics fm = g.getFontMetrics();
+            int y = (h - (fm.getHeight() * lines.length)) / 2 + fm.getAscent();
+            for (String line : lines) {
+                if (line != null) {
+                    g.drawString(line, (w - fm.stringWidth(line)) / 2, y);
+                }
+                y += fm.getHeight();
+            }
+        });
+    }
+
+    // Paints the button's background and text in its current state
+    public static void paintButton(Graphics g, AbstractButton button, ButtonStyle style) {
+        State state = State.of(button.getModel());
+        String text = button.getText();
+        draw(g, button.getWidth(), button.getHeight(), (g2, w, h) -> {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(style.fill(state));
+            g2.fillRoundRect(0, 0, w, h, style.arc, style.arc);
+            g2.setColor(style.text);
+            g2.setFont(style.font);
+            FontMetrics fm = g2.getFontMetrics();
+            int x = (w - fm.stringWidth(text)) / 2;
+            int y = ((h - fm.getHeight()) / 2) + fm.getAscent();
+            g2.drawString(text, x, y);
+        }, "button", style, text, state);
+    }
+
+    // The round window close button with a white cross
+    public static void paintCloseButton(Graphics g, AbstractButton button, Color normal, Color hover) {
+        Color fill = State.of(button.getModel()) == State.NORMAL ? normal : hover;
+        draw(g, button.getWidth(), button.getHeight(), (g2, w, h) -> {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(fill);
+            g2.fillRoundRect(0, 0, w, h, 15, 15);
+            g2.setStroke(new BasicStroke(2));
+            g2.setColor(Color.WHITE);
+            int margin = 14;
+            g2.drawLine(margin, margin, w - margin, h - margin);
+            g2.drawLine(margin, h - margin, w - margin, margin);
+        }, "close", fill);
+    }
+
+    // Draws the memoized bitmap at 0,0, rendering it first if needed. On scaled displays it is
+    // rendered at device resolution so text stays sharp.
+    public static void draw(Graphics g, int width, int height, Painter painter, Object... key) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        double scale = g instanceof Graphics2D ? ((Graphics2D) g).getTransform().getScaleX() : 1.0;
+        List<Object> fullKey = new ArrayList<>(Arrays.asList(key));
+        fullKey.add(width);
+        fullKey.add(height);
+        fullKey.add(scale);
+        ImageIcon icon = get(fullKey, width, height, scale, painter);
+        g.drawImage(icon.getImage(), 0, 0, width, height, null);
+    }
+
+    private static ImageIcon get(List<Object> key, int width, int height, double scale, Painter painter) {
+        synchronized (entries) {
+            ImageIcon cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        int deviceWidth = (int) Math.ceil(width * scale);
+        int deviceHeight = (int) Math.ceil(height * scale);
+        BufferedImage image = new BufferedImage(deviceWidth, deviceHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.scale(scale, scale);
+        painter.paint(g, width, height);
+        g.dispose();
+        ImageIcon icon = new ImageIcon(image);
+
+        synchronized (entries) {
+            ImageIcon previous = entries.put(key, icon);
+            if (previous != null) {
+                bytes -= sizeOf(previous);
+            }
+            bytes += sizeOf(icon);
+            Iterator<ImageIcon> it = entries.values().iterator();
+            while (bytes > MAX_BYTES && it.hasNext()) {
+                ImageIcon eldest = it.next();
+                if (eldest == icon) {
+                    break;
+                }
+                bytes -= sizeOf(eldest);
+                it.remove();
+            }
+        }
+        return icon;
+    }
+
+    private static long sizeOf(ImageIcon icon) {
+        return 4L * icon.getIconWidth() * icon.getIconHeight();
+    }
+}
@@ -7,6 +7,9 @@ import java.awt.geom.RoundRectangle2D;
 import java.net.URL;
 
 public class RestaurantPremium extends JFrame {
+    private static final Color CLOSE_COLOR = new Color(220, 20, 60);
+    private static final Color CLOSE_HOVER_COLOR = new Color(200, 0, 0);
+
     private JRadioButton adminRadio, customerRadio;
     private JPasswordField passwordField;
     private JLabel passwordLabel;
@@ -25,19 +28,10 @@ public class RestaurantPremium extends JFrame {
         layeredPane.setPreferredSize(new Dimension(1200, 800));
 
         // Background image with fallback
-        URL bgURL = getClass().getResource("/images/background.jpg");
-        if (bgURL != null) {
-            ImageIcon bgIcon = new ImageIcon(bgURL);
-            JLabel backgroundLabel = new JLabel(bgIcon);
-            backgroundLabel.setBounds(0, 0, 1200, 800);
-            layeredPane.add(backgroundLabel, JLayeredPane.DEFAULT_LAYER);
-        } else {
-            System.err.println("Background image not found, using solid color");
-            JPanel solidPanel = new JPanel();
-            solidPanel.setBackground(new Color(240, 240, 240));
-            solidPanel.setBounds(0, 0, 1200, 800);
-            layeredPane.add(solidPanel, JLayeredPane.DEFAULT_LAYER);
-        }
+        BackgroundPanel background = BackgroundPanel.image("login",
+            getClass().getResource("/images/background.jpg"), new Color(240, 240, 240));
+        background.setBounds(0, 0, 1200, 800);
+        layeredPane.add(background, JLayeredPane.DEFAULT_LAYER);
 
         // Close button
         JButton closeButton = createCloseButton();
@@ -217,23 +211,7 @@ public class RestaurantPremium extends JFrame {
         JButton closeButton = new JButton() {
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                if (getModel().isRollover()) {
-                    g2.setColor(new Color(200, 0, 0));
-                } else {
-                    g2.setColor(new Color(220, 20, 60));
-                }
-                g2.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
-
-                g2.setStroke(new BasicStroke(2));
-                g2.setColor(Color.WHITE);
-                int margin = 14;
-                g2.drawLine(margin, margin, getWidth() - margin, getHeight() - margin);
-                g2.drawLine(margin, getHeight() - margin, getWidth() - margin, margin);
-
-                g2.dispose();
+                RenderCache.paintCloseButton(g, this, CLOSE_COLOR, CLOSE_HOVER_COLOR);
             }
         };
 
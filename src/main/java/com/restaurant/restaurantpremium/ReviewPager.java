@@ -0,0 +1,100 @@
+package com.restaurant.restaurantpremium;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Loads review comments one page at a time, newest first, using the last seen review id as the
+// cursor so later pages cost the same as the first. Recently viewed pages are kept in memory.
+public class ReviewPager {
+    public static final int PAGE_SIZE = 20;
+    public static final long FIRST_PAGE = Long.MAX_VALUE;
+
+    private static final int CACHED_ITEMS = 16;
+    private static final int CACHED_PAGES_PER_ITEM = 5;
+
+    // Reviews without a comment are skipped here rather than after reading, so a page is still
+    // full and the look-ahead row still tells whether there is another one
+    private static final String PAGE_SQL =
+        "SELECT id, comment FROM reviews WHERE food_id = ? AND id < ? AND comment IS NOT NULL " +
+        "ORDER BY id DESC LIMIT ?";
+
+    // foodId -> (cursor -> page), both access-ordered for LRU eviction
+    private static final Map<Integer, Map<Long, Page>> cache =
+        new LinkedHashMap<Integer, Map<Long, Page>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Map<Long, Page>> eldest) {
+                return size() > CACHED_ITEMS;
+            }
+        };
+
+    public static class Page {
+        private final List<String> comments;
+        private final long nextCursor;
+        private final boolean last;
+
+        Page(List<String> comments, long nextCursor, boolean last) {
+            this.comments = comments;
+            this.nextCursor = nextCursor;
+            this.last = last;
+        }
+
+        public List<String> getComments() { return comments; }
+        public long getNextCursor() { return nextCursor; }
+        public boolean isLast() { return last; }
+    }
+
+    public static Page fetch(int foodId, long cursor) throws SQLException {
+        synchronized (cache) {
+            Map<Long, Page> pages = cache.get(foodId);
+            Page cached = pages == null ? null : pages.get(cursor);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<String> comments = new ArrayList<>();
+        long lastId = cursor;
+        boolean last = true;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(PAGE_SQL)) {
+            pstmt.setInt(1, foodId);
+            pstmt.setLong(2, cursor);
+            // One extra row tells us whether another page exists
+            pstmt.setInt(3, PAGE_SIZE + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (comments.size() == PAGE_SIZE) {
+                        last = false;
+                        break;
+                    }
+                    lastId = rs.getLong("id");
+                    comments.add(rs.getString("comment"));
+                }
+            }
+        }
+
+        Page page = new Page(List.copyOf(comments), lastId, last);
+        synchronized (cache) {
+            cache.computeIfAbsent(foodId, k -> new LinkedHashMap<Long, Page>(8, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Page> eldest) {
+                    return size() > CACHED_PAGES_PER_ITEM;
+                }
+            }).put(cursor, page);
+        }
+        return page;
+    }
+
+    // Drop cached pages once a new review has been written for the item
+    public static void invalidate(int foodId) {
+        synchronized (cache) {
+            cache.remove(foodId);
+        }
+    }
+}
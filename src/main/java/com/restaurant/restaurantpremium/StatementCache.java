@@ -0,0 +1,186 @@
+package com.restaurant.restaurantpremium;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StatementCache {
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+
+    private final Connection connection;
+    private final int capacity;
+    // Access-ordered, so iteration starts at the least recently used statement
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public StatementCache(Connection connection, int capacity) {
+        this.connection = connection;
+        this.capacity = capacity;
+    }
+
+    public static long getHits() { return hits.get(); }
+    public static long getMisses() { return misses.get(); }
+    public static long getEvictions() { return evictions.get(); }
+
+    public static double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public synchronized PreparedStatement prepare(String sql) throws SQLException {
+        return lookup(sql, sql, -1);
+    }
+
+    public synchronized PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        return lookup(sql + "\u0000keys=" + autoGeneratedKeys, sql, autoGeneratedKeys);
+    }
+
+    private PreparedStatement lookup(String key, String sql, int autoGeneratedKeys) throws SQLException {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.inUse) {
+            hits.incrementAndGet();
+            return entry.checkout();
+        }
+        misses.incrementAndGet();
+
+        PreparedStatement physical = autoGeneratedKeys < 0
+            ? connection.prepareStatement(sql)
+            : connection.prepareStatement(sql, autoGeneratedKeys);
+        if (entry != null) {
+            // Same SQL is already open on this connection; hand out a one-off statement
+            return physical;
+        }
+
+        entry = new Entry(physical);
+        entries.put(key, entry);
+        evictIfNeeded();
+        return entry.checkout();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            evictions.incrementAndGet();
+            eldest.evicted = true;
+            if (!eldest.inUse) {
+                eldest.closePhysical();
+            }
+        }
+    }
+
+    // Called when the owning connection goes back to the pool
+    public synchronized void releaseAll() {
+        for (Entry entry : entries.values()) {
+            if (entry.inUse) {
+                entry.checkin();
+            }
+        }
+    }
+
+    public synchronized void closeAll() {
+        List<Entry> all = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : all) {
+            entry.closePhysical();
+        }
+    }
+
+    private class Entry {
+        private final PreparedStatement physical;
+        private boolean inUse;
+        private boolean evicted;
+        private int lease;
+
+        Entry(PreparedStatement physical) {
+            this.physical = physical;
+        }
+
+        PreparedStatement checkout() {
+            inUse = true;
+            int leaseId = ++lease;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new Handle(this, leaseId));
+        }
+
+        void checkin() {
+            lease++;
+            inUse = false;
+            try {
+                physical.clearParameters();
+                physical.clearBatch();
+            } catch (SQLException e) {
+                evicted = true;
+                entries.values().remove(this);
+            }
+            if (evicted) {
+                closePhysical();
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    private class Handle implements InvocationHandler {
+        private final Entry entry;
+        private final int leaseId;
+
+        Handle(Entry entry, int leaseId) {
+            this.entry = entry;
+            this.leaseId = leaseId;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            synchronized (StatementCache.this) {
+                boolean current = entry.inUse && entry.lease == leaseId;
+                switch (method.getName()) {
+                    case "close":
+                        if (current) {
+                            entry.checkin();
+                        }
+                        return null;
+                    case "isClosed":
+                        return !current || entry.physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Cached" + entry.physical;
+                    default:
+                        break;
+                }
+                if (!current) {
+                    throw new SQLException("Statement is closed");
+                }
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
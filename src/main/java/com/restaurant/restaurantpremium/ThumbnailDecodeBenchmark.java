@@ -0,0 +1,97 @@
+package com.restaurant.restaurantpremium;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Compares the old thumbnail path (new ImageIcon(url) + getScaledInstance(SCALE_SMOOTH)) with
+// ThumbnailDecoder on the bundled food images: median time per image and bytes allocated per
+// image, summed over all threads since the toolkit decodes on its own fetcher threads. The
+// toolkit figure is a lower bound: its decode buffers are native and new ImageIcon(url) keeps
+// the full-size image in the toolkit's URL cache after the first call.
+// Usage: ThumbnailDecodeBenchmark [image directory]   default src/main/resources/images
+public class ThumbnailDecodeBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 7;
+    private static final int[][] SIZES = {
+        { BillingMenuRenderer.THUMB_SIZE, BillingMenuRenderer.THUMB_SIZE },
+        { MenuCardView.IMAGE_WIDTH, MenuCardView.IMAGE_HEIGHT }
+    };
+
+    private static final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        File dir = new File(args.length > 0 ? args[0] : "src/main/resources/images");
+        File[] files = dir.listFiles((d, name) -> name.toLowerCase().matches(".*\\.(jpe?g|png)"));
+        if (files == null || files.length == 0) {
+            System.err.println("No images found in " + dir.getAbsolutePath());
+            System.exit(1);
+        }
+        Arrays.sort(files);
+        List<URL> images = new ArrayList<>();
+        for (File file : files) {
+            images.add(file.toURI().toURL());
+        }
+
+        System.out.printf("%d images from %s%n", images.size(), dir);
+        System.out.printf("%-9s %-16s %12s %14s%n", "size", "method", "ms/image", "KB alloc/image");
+        for (int[] size : SIZES) {
+            String label = size[0] + "x" + size[1];
+            report(label, "getScaledInstance", measure(images, url -> scaledInstance(url, size[0], size[1])));
+            report(label, "ThumbnailDecoder", measure(images, url -> ThumbnailDecoder.decode(url, size[0], size[1])));
+        }
+        System.exit(0);
+    }
+
+    private interface Decode {
+        Object run(URL url) throws Exception;
+    }
+
+    // The previous FoodMenu/BillingSystem code
+    private static ImageIcon scaledInstance(URL url, int width, int height) {
+        ImageIcon original = new ImageIcon(url);
+        return new ImageIcon(original.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH));
+    }
+
+    // Median time and mean allocation per image over MEASURED_ROUNDS passes over the set
+    private static double[] measure(List<URL> images, Decode decode) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            for (URL url : images) {
+                decode.run(url);
+            }
+        }
+        long[] times = new long[MEASURED_ROUNDS];
+        long allocated = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (URL url : images) {
+                decode.run(url);
+            }
+            times[i] = System.nanoTime() - start;
+            allocated += allocatedBytes() - bytesBefore;
+        }
+        Arrays.sort(times);
+        double msPerImage = times[MEASURED_ROUNDS / 2] / 1_000_000.0 / images.size();
+        double kbPerImage = allocated / 1024.0 / MEASURED_ROUNDS / images.size();
+        return new double[] { msPerImage, kbPerImage };
+    }
+
+    private static long allocatedBytes() {
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, bytes);
+        }
+        return total;
+    }
+
+    private static void report(String size, String method, double[] result) {
+        System.out.printf("%-9s %-16s %12.2f %14.0f%n", size, method, result[0], result[1]);
+    }
+}
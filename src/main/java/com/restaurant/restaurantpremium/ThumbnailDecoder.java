@@ -0,0 +1,180 @@
+package com.restaurant.restaurantpremium;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.CropImageFilter;
+import java.awt.image.DataBufferInt;
+import java.awt.image.FilteredImageSource;
+import java.awt.image.ImageProducer;
+import java.awt.image.PixelGrabber;
+import java.awt.image.ReplicateScaleFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+// Decodes an image straight to thumbnail size. Only the centre region with the target's aspect
+// ratio is read, subsampled so it comes out at about OVERSAMPLE times the target; a few
+// bilinear halvings then bring it down to the exact size. Full-resolution pixels are never
+// held in memory.
+//
+// javax.imageio handles progressive JPEGs in libjpeg's buffered mode, which is several times
+// slower than the toolkit decoder on our photos, so those go through the toolkit with crop and
+// replicate filters instead, which still only keeps the subsampled pixels.
+public class ThumbnailDecoder {
+    // Decode at least this much larger than the target so the last steps have detail to average
+    private static final int OVERSAMPLE = 2;
+
+    public static BufferedImage decode(URL source, int width, int height) throws IOException {
+        try (InputStream raw = source.openStream()) {
+            return decode(raw, () -> Toolkit.getDefaultToolkit().createImage(source), width, height);
+        }
+    }
+
+    // Image bytes already in memory, e.g. a slice of the mapped ImagePack
+    public static BufferedImage decode(ByteBuffer source, int width, int height) throws IOException {
+        return decode(new ByteBufferInputStream(source.duplicate()), () -> {
+            // The toolkit only takes arrays, so progressive JPEGs pay for one copy
+            byte[] bytes = new byte[source.remaining()];
+            source.duplicate().get(bytes);
+            return Toolkit.getDefaultToolkit().createImage(bytes);
+        }, width, height);
+    }
+
+    private static BufferedImage decode(InputStream raw, Supplier<Image> toolkitImage,
+                                        int width, int height) throws IOException {
+        try (ImageInputStream in = new MemoryCacheImageInputStream(raw)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, false);
+                Rectangle region = centreCrop(reader.getWidth(0), reader.getHeight(0), width, height);
+                int step = Math.max(1, Math.min(region.width / (width * OVERSAMPLE),
+                                                region.height / (height * OVERSAMPLE)));
+                BufferedImage decoded;
+                if (isProgressiveJpeg(reader)) {
+                    decoded = decodeWithToolkit(toolkitImage.get(), region, step);
+                } else {
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceRegion(region);
+                    param.setSourceSubsampling(step, step, 0, 0);
+                    decoded = reader.read(0, param);
+                }
+                return decoded == null ? null : downscale(decoded, width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage decodeWithToolkit(Image source, Rectangle region, int step) throws IOException {
+        int w = Math.max(1, region.width / step);
+        int h = Math.max(1, region.height / step);
+        ImageProducer producer = source.getSource();
+        producer = new FilteredImageSource(producer,
+            new CropImageFilter(region.x, region.y, region.width, region.height));
+        producer = new FilteredImageSource(producer, new ReplicateScaleFilter(w, h));
+
+        // Grab straight into the image's own pixel array rather than copying afterwards
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        PixelGrabber grabber = new PixelGrabber(producer, 0, 0, w, h, pixels, 0, w);
+        try {
+            if (!grabber.grabPixels()) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while decoding", e);
+        }
+        return image;
+    }
+
+    // Only reads the JPEG header; the frame's process is 2 for progressive
+    private static boolean isProgressiveJpeg(ImageReader reader) throws IOException {
+        if (!"jpeg".equalsIgnoreCase(reader.getFormatName())) {
+            return false;
+        }
+        IIOMetadata metadata = reader.getImageMetadata(0);
+        NodeList frames = ((Element) metadata.getAsTree("javax_imageio_jpeg_image_1.0")).getElementsByTagName("sof");
+        return frames.getLength() > 0 && "2".equals(((Element) frames.item(0)).getAttribute("process"));
+    }
+
+    // Largest centred part of a sourceWidth x sourceHeight image with the target's aspect ratio
+    static Rectangle centreCrop(int sourceWidth, int sourceHeight, int width, int height) {
+        if ((long) sourceWidth * height > (long) sourceHeight * width) {
+            int cropWidth = Math.max(1, (int) ((long) sourceHeight * width / height));
+            return new Rectangle((sourceWidth - cropWidth) / 2, 0, cropWidth, sourceHeight);
+        }
+        int cropHeight = Math.max(1, (int) ((long) sourceWidth * height / width));
+        return new Rectangle(0, (sourceHeight - cropHeight) / 2, sourceWidth, cropHeight);
+    }
+
+    // Halves with bilinear filtering until within 2x of the target, then one last step to size.
+    // Each step only averages neighbouring pixels, which is where one big bilinear step goes wrong.
+    public static BufferedImage downscale(BufferedImage image, int width, int height) {
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = w / 2 >= width ? w / 2 : width;
+            h = h / 2 >= height ? h / 2 : height;
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return len == 0 ? 0 : -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.restaurant.restaurantpremium;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Pre-scaled menu images kept on disk between runs, named <sha256 of source>_<w>x<h>_v<n>.png.
+// Because the name comes from the source bytes, an edited image simply gets a new file and
+// the old one is never read again (ThumbnailWarmup --prune removes it).
+public class ThumbnailStore {
+    // Bumped when thumbnails are produced differently, so older files stop matching
+    private static final int FORMAT_VERSION = 2;
+
+    private static final Path DIRECTORY = Paths.get(System.getProperty("greenchilli.thumbDir",
+        Paths.get(System.getProperty("user.home"), ".greenchilli", "thumbs").toString()));
+
+    // Source hashes already computed in this run
+    private static final Map<String, String> hashes = new ConcurrentHashMap<>();
+
+    public static Path getDirectory() {
+        return DIRECTORY;
+    }
+
+    // The source image scaled to width x height, from disk if it was scaled before
+    public static BufferedImage load(URL source, int width, int height) throws IOException {
+        return load(hash(source), width, height, () -> ThumbnailDecoder.decode(source, width, height));
+    }
+
+    // Packed images come with their hash, so nothing is read unless the thumbnail is missing
+    public static BufferedImage load(ImagePack.Entry source, int width, int height) throws IOException {
+        return load(source.getHash(), width, height, () -> ThumbnailDecoder.decode(source.getBytes(), width, height));
+    }
+
+    private interface Decode {
+        BufferedImage run() throws IOException;
+    }
+
+    private static BufferedImage load(String hash, int width, int height, Decode decode) throws IOException {
+        Path file = pathFor(hash, width, height);
+        if (Files.exists(file)) {
+            BufferedImage cached = ImageIO.read(file.toFile());
+            if (cached != null && cached.getWidth() == width && cached.getHeight() == height) {
+                return cached;
+            }
+        }
+
+        BufferedImage scaled = decode.run();
+        if (scaled == null) {
+            return null;
+        }
+        try {
+            write(scaled, file);
+        } catch (IOException e) {
+            // Still usable this run, it just gets scaled again next time
+            System.err.println("Could not store thumbnail " + file + ": " + e.getMessage());
+        }
+        return scaled;
+    }
+
+    public static Path pathFor(String hash, int width, int height) {
+        return DIRECTORY.resolve(hash + "_" + width + "x" + height + "_v" + FORMAT_VERSION + ".png");
+    }
+
+    public static String hash(URL source) throws IOException {
+        String key = source.toExternalForm();
+        String known = hashes.get(key);
+        if (known != null) {
+            return known;
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = source.openStream()) {
+            byte[] buffer = new byte[16 * 1024];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        hashes.put(key, hash);
+        return hash;
+    }
+
+    // For a source whose content changed, so its hash is read again next time
+    public static void forget(URL source) {
+        hashes.remove(source.toExternalForm());
+    }
+
+    // Written to a temp file and moved into place, so readers never see half a PNG
+    private static void write(BufferedImage image, Path file) throws IOException {
+        Files.createDirectories(DIRECTORY);
+        Path temp = Files.createTempFile(DIRECTORY, "thumb", ".tmp");
+        try {
+            ImageIO.write(image, "png", temp.toFile());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.restaurant.restaurantpremium;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+// Builds the on-disk thumbnails for every menu item at the sizes the screens use, so the
+// first start after a deploy or image update doesn't pay for the full-size decodes.
+// Usage: ThumbnailWarmup [--prune]   --prune also deletes thumbnails no item uses any more
+public class ThumbnailWarmup {
+    static final int[][] SIZES = {
+        { MenuCardView.IMAGE_WIDTH, MenuCardView.IMAGE_HEIGHT },
+        { BillingMenuRenderer.THUMB_SIZE, BillingMenuRenderer.THUMB_SIZE }
+    };
+
+    public static void main(String[] args) {
+        boolean prune = args.length > 0 && args[0].equals("--prune");
+        Set<Path> current = new HashSet<>();
+        int built = 0;
+        int missing = 0;
+        long start = System.nanoTime();
+
+        try {
+            Set<String> paths = new HashSet<>();
+            for (FoodItem item : MenuCatalog.getInstance().getItems()) {
+                paths.add(item.getImagePath());
+            }
+            for (String path : paths) {
+                String name = ImageLoader.fileName(path);
+                ImagePack.Entry packed = name == null ? null : ImagePack.getInstance().get(name);
+                URL source = packed == null ? ImageLoader.resolve(path) : null;
+                if (packed == null && source == null) {
+                    missing++;
+                    continue;
+                }
+                String hash = packed != null ? packed.getHash() : ThumbnailStore.hash(source);
+                for (int[] size : SIZES) {
+                    if (packed != null) {
+                        ThumbnailStore.load(packed, size[0], size[1]);
+                    } else {
+                        ThumbnailStore.load(source, size[0], size[1]);
+                    }
+                    current.add(ThumbnailStore.pathFor(hash, size[0], size[1]));
+                    built++;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not read the menu: " + e.getMessage());
+            System.exit(1);
+        } catch (IOException e) {
+            System.err.println("Thumbnail warm-up failed: " + e.getMessage());
+            System.exit(1);
+        }
+
+        System.out.printf("%d thumbnails ready in %s (%d items without an image) in %.1f s%n",
+            built, ThumbnailStore.getDirectory(), missing, (System.nanoTime() - start) / 1e9);
+        if (prune) {
+            System.out.println("Removed " + prune(current) + " stale thumbnails");
+        }
+        System.exit(0);
+    }
+
+    private static int prune(Set<Path> keep) {
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(ThumbnailStore.getDirectory(), "*.png")) {
+            for (Path file : files) {
+                if (!keep.contains(file)) {
+                    Files.deleteIfExists(file);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not prune thumbnails: " + e.getMessage());
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,221 @@
+package com.restaurant.restaurantpremium;
+
+import javax.swing.*;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Two-column menu grid that only has components for the rows in view (plus OVERSCAN_ROWS
+// either side). Cards that scroll out are rebound to the items scrolling in, so component
+// count and memory stay flat however long the menu is.
+public class VirtualMenuGrid extends JPanel implements Scrollable {
+    private static final int COLUMNS = 2;
+    private static final int GAP = 25;
+    private static final int OVERSCAN_ROWS = 1;
+    private static final Insets PADDING = new Insets(30, 30, 40, 30);
+
+    private final List<FoodItem> items = new ArrayList<>();
+    private final Function<FoodItem, ImageIcon> images;
+    private final Consumer<FoodItem> onViewAllReviews;
+    private final Consumer<FoodItem> onRecycled;
+
+    private final Map<Integer, MenuCardView> bound = new HashMap<>();
+    private final Deque<MenuCardView> spare = new ArrayDeque<>();
+    private final ChangeListener viewportListener = e -> updateVisibleCards();
+    private JViewport viewport;
+
+    // images supplies the picture for a card being bound; onRecycled is told when an item's
+    // card leaves the window, e.g. to cancel an image load that is no longer needed
+    public VirtualMenuGrid(Function<FoodItem, ImageIcon> images, Consumer<FoodItem> onViewAllReviews,
+                           Consumer<FoodItem> onRecycled) {
+        super(null);
+        this.images = images;
+        this.onViewAllReviews = onViewAllReviews;
+        this.onRecycled = onRecycled;
+        setBackground(new Color(248, 248, 248));
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                // Column width changed, so every bound card needs new bounds
+                unbindAll();
+                updateVisibleCards();
+            }
+        });
+    }
+
+    public void addItems(List<FoodItem> batch) {
+        items.addAll(batch);
+        revalidate();
+        updateVisibleCards();
+    }
+
+    public void setItems(List<FoodItem> all) {
+        items.clear();
+        items.addAll(all);
+        unbindAll();
+        revalidate();
+        updateVisibleCards();
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    // Items that currently have a card, i.e. those on screen plus the overscan rows
+    public List<FoodItem> getBoundItems() {
+        List<FoodItem> visible = new ArrayList<>();
+        for (MenuCardView card : bound.values()) {
+            if (card.getItem() != null) {
+                visible.add(card.getItem());
+            }
+        }
+        return visible;
+    }
+
+    // Swaps in a freshly loaded image if the item's card is on screen
+    public void updateImage(FoodItem item, ImageIcon image) {
+        for (MenuCardView card : bound.values()) {
+            if (card.getItem() != null && card.getItem().getId() == item.getId()) {
+                card.setImage(image);
+            }
+        }
+    }
+
+    // Added to the enclosing viewport while the grid is showing; taken off again on removal so
+    // re-adding the grid doesn't stack listeners
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (getParent() instanceof JViewport) {
+            viewport = (JViewport) getParent();
+            viewport.addChangeListener(viewportListener);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (viewport != null) {
+            viewport.removeChangeListener(viewportListener);
+            viewport = null;
+        }
+        super.removeNotify();
+    }
+
+    private int columnWidth() {
+        int available = getWidth() - PADDING.left - PADDING.right - GAP * (COLUMNS - 1);
+        return Math.max(MenuCardView.IMAGE_WIDTH + 30, available / COLUMNS);
+    }
+
+    private int rowHeight() {
+        return MenuCardView.CARD_HEIGHT + GAP;
+    }
+
+    private int rowCount() {
+        return (items.size() + COLUMNS - 1) / COLUMNS;
+    }
+
+    private void updateVisibleCards() {
+        Rectangle view = getVisibleRect();
+        if (items.isEmpty() || view.height <= 0) {
+            unbindAll();
+            return;
+        }
+
+        int firstRow = Math.max(0, (view.y - PADDING.top) / rowHeight() - OVERSCAN_ROWS);
+        int lastRow = Math.min(rowCount() - 1,
+            (view.y + view.height - PADDING.top) / rowHeight() + OVERSCAN_ROWS);
+        int first = firstRow * COLUMNS;
+        int last = Math.min(items.size() - 1, lastRow * COLUMNS + COLUMNS - 1);
+
+        // Recycle cards that left the window
+        Iterator<Map.Entry<Integer, MenuCardView>> it = bound.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, MenuCardView> entry = it.next();
+            int index = entry.getKey();
+            if (index < first || index > last || entry.getValue().getItem() != items.get(index)) {
+                it.remove();
+                release(entry.getValue());
+            }
+        }
+
+        int columnWidth = columnWidth();
+        for (int index = first; index <= last; index++) {
+            if (bound.containsKey(index)) {
+                continue;
+            }
+            MenuCardView card = spare.poll();
+            if (card == null) {
+                card = new MenuCardView(onViewAllReviews);
+                add(card);
+            }
+            FoodItem item = items.get(index);
+            card.bind(item, images.apply(item));
+            int row = index / COLUMNS;
+            int column = index % COLUMNS;
+            card.setBounds(PADDING.left + column * (columnWidth + GAP),
+                           PADDING.top + row * rowHeight(),
+                           columnWidth, MenuCardView.CARD_HEIGHT);
+            card.setVisible(true);
+            bound.put(index, card);
+        }
+    }
+
+    private void release(MenuCardView card) {
+        if (card.getItem() != null) {
+            onRecycled.accept(card.getItem());
+        }
+        card.setVisible(false);
+        card.bind(null, null);
+        spare.push(card);
+    }
+
+    private void unbindAll() {
+        for (MenuCardView card : bound.values()) {
+            release(card);
+        }
+        bound.clear();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int rows = rowCount();
+        int height = PADDING.top + PADDING.bottom + rows * MenuCardView.CARD_HEIGHT + Math.max(0, rows - 1) * GAP;
+        int width = PADDING.left + PADDING.right + COLUMNS * (MenuCardView.IMAGE_WIDTH + 30) + GAP * (COLUMNS - 1);
+        return new Dimension(width, height);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}